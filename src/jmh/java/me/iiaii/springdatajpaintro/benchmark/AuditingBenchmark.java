@@ -0,0 +1,55 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 감사 필드 설정 비용 (AuditFieldListener)
+ * 한 트랜잭션에서 회원 100명 저장 후 다시 100명 수정
+ * AuditingEntityListener 방식과의 비교는 감사 애노테이션을 제거하면서 함께 제거됨
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditingBenchmark {
+
+    private static final int ROWS = 100;
+
+    @State(Scope.Benchmark)
+    public static class AuditingState extends RepositoryState {
+
+        @Override
+        protected void seed() {
+        }
+    }
+
+    @Benchmark
+    public void insertAndUpdate(AuditingState state) {
+        state.transactionTemplate.executeWithoutResult(status -> {
+            List<Member> members = IntStream.range(0, ROWS)
+                    .mapToObj(i -> new Member("audit" + i, i))
+                    .collect(Collectors.toList());
+            state.memberRepository.saveAll(members);
+            state.memberRepository.flush();
+
+            members.forEach(m -> m.setAge(m.getAge() + 1));
+            state.memberRepository.flush();
+            status.setRollbackOnly(); // 테이블이 계속 커지지 않도록
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.service.OptimisticRetryExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 username 에 동시에 쓰는 경우: 비관적 락(findLockByUsername) vs 낙관적 락 + 재시도
+ * 스레드 수는 -PjmhArgs="-t 16" 처럼 바꿀 수 있고, p99 는 SampleTime 결과의 percentiles 에서 확인
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ContentionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ContentionState extends RepositoryState {
+
+        // 쓰기가 몰리는 username 개수 (1 이면 모든 스레드가 같은 행을 수정)
+        @Param({"1", "10"})
+        public int hotUsernames;
+
+        public OptimisticRetryExecutor retryExecutor;
+
+        @Override
+        protected String[] properties() {
+            return new String[]{
+                    "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                    // 재시도 한도 때문에 벤치마크가 실패하지 않도록
+                    "retry.optimistic.max-attempts=1000",
+                    "retry.optimistic.initial-backoff=1ms",
+                    "retry.optimistic.max-backoff=50ms"};
+        }
+
+        @Override
+        protected void seed() {
+            retryExecutor = context.getBean(OptimisticRetryExecutor.class);
+            memberRepository.saveAllBatched(IntStream.range(0, hotUsernames)
+                    .mapToObj(i -> new Member("hot" + i, 0)), 100);
+        }
+
+        String nextUsername() {
+            return "hot" + ThreadLocalRandom.current().nextInt(hotUsernames);
+        }
+    }
+
+    @Benchmark
+    public void pessimistic(ContentionState state) {
+        String username = state.nextUsername();
+        state.transactionTemplate.executeWithoutResult(status -> {
+            List<Member> members = state.memberRepository.findLockByUsername(username);
+            members.forEach(m -> m.setAge(m.getAge() + 1));
+        });
+    }
+
+    @Benchmark
+    public void optimistic(ContentionState state) {
+        String username = state.nextUsername();
+        state.retryExecutor.run(() -> {
+            List<Member> members = state.memberRepository.findOptimisticByUsername(username);
+            members.forEach(m -> m.setAge(m.getAge() + 1));
+        });
+    }
+}
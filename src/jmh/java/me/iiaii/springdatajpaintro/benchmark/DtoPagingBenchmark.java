@@ -0,0 +1,45 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.dto.MemberDto;
+import me.iiaii.springdatajpaintro.repository.CountMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /members 의 이전(엔티티 조회 후 MemberDto::new) / 이후(DTO 직접 조회) 방식
+ * 요청당 할당량은 -prof gc 의 gc.alloc.rate.norm (B/op) 으로 비교
+ * ./gradlew jmh -PjmhArgs='DtoPagingBenchmark -prof gc'
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoPagingBenchmark {
+
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(5, 10, Sort.by(Sort.Direction.DESC, "username"));
+
+    // OSIV 처럼 요청 단위 영속성 컨텍스트 안에서 조회 + 변환
+    @Benchmark
+    public Page<MemberDto> entityThenMap(RepositoryState state) {
+        return state.transactionTemplate.execute(status -> state.memberRepository
+                .findAll(PAGE_REQUEST, CountMode.EXACT)
+                .map(MemberDto::new));
+    }
+
+    @Benchmark
+    public Page<MemberDto> dtoProjection(RepositoryState state) {
+        return state.transactionTemplate.execute(status -> state.memberRepository
+                .findMemberDtoPage(PAGE_REQUEST, CountMode.EXACT));
+    }
+}
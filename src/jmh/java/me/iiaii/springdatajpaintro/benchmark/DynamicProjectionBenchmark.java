@@ -0,0 +1,56 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.repository.UsernameOnly;
+import me.iiaii.springdatajpaintro.repository.UsernameOnlyDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 워밍업 이후 동적 projection (타입을 파라미터로) 과 정적으로 선언한 projection 메소드의 비용이 같은지 비교
+ * 두 값의 차이가 오차 범위 안이면 타입별 실행 계획 캐시가 동작하는 것
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicProjectionBenchmark {
+
+    private static final String USERNAME = "member1";
+
+    @Benchmark
+    public void staticInterface(RepositoryState state, Blackhole bh) {
+        for (UsernameOnly row : state.memberRepository.findProjectionsByUsername(USERNAME)) {
+            bh.consume(row.getUsername());
+        }
+    }
+
+    @Benchmark
+    public void dynamicInterface(RepositoryState state, Blackhole bh) {
+        for (UsernameOnly row : state.memberRepository.findDynamicProjectionsByUsername(USERNAME, UsernameOnly.class)) {
+            bh.consume(row.getUsername());
+        }
+    }
+
+    @Benchmark
+    public void staticClass(RepositoryState state, Blackhole bh) {
+        for (UsernameOnlyDto row : state.memberRepository.findProjections2ByUsername(USERNAME)) {
+            bh.consume(row.getUsername());
+        }
+    }
+
+    @Benchmark
+    public void dynamicClass(RepositoryState state, Blackhole bh) {
+        for (UsernameOnlyDto row : state.memberRepository.findDynamicProjectionsByUsername(USERNAME, UsernameOnlyDto.class)) {
+            bh.consume(row.getUsername());
+        }
+    }
+}
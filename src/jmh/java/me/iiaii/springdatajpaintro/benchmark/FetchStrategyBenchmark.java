@@ -0,0 +1,50 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * member -> team 연관관계 로딩 방식 비교 (모두 team 이름까지 접근)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FetchStrategyBenchmark {
+
+    @Benchmark
+    public void fetchJoin(RepositoryState state, Blackhole bh) {
+        state.transactionTemplate.executeWithoutResult(status ->
+                consume(state.memberRepository.findMemberFetchJoin(), bh));
+    }
+
+    @Benchmark
+    public void entityGraph(RepositoryState state, Blackhole bh) {
+        state.transactionTemplate.executeWithoutResult(status ->
+                consume(state.memberRepository.findAll(), bh));
+    }
+
+    // team 프록시를 하나씩 초기화 (N+1)
+    @Benchmark
+    public void lazyLoading(RepositoryState state, Blackhole bh) {
+        state.transactionTemplate.executeWithoutResult(status ->
+                consume(state.memberRepository.findMemberCustom(), bh));
+    }
+
+    private void consume(List<Member> members, Blackhole bh) {
+        for (Member member : members) {
+            bh.consume(member.getTeam().getName());
+        }
+    }
+}
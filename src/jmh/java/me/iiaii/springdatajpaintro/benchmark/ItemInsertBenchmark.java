@@ -0,0 +1,108 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.entity.Item;
+import me.iiaii.springdatajpaintro.repository.ItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 할당 id 엔티티 10만 건 적재
+ * - save: 지금의 saveAll (Item 은 Persistable 이라 persist, 청크마다 트랜잭션)
+ * - merge: Persistable 이 아닌 할당 id 엔티티가 타는 경로 (INSERT 마다 SELECT)
+ * - insertAll: InsertOnlyRepository (merge 판단 없이 persist + jdbc batch)
+ * - insertIfAbsent: 중복 키를 한 문장으로 처리하는 MERGE batch (절반은 이미 있는 id)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ItemInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 1000;
+
+    @State(Scope.Benchmark)
+    public static class ItemState extends RepositoryState {
+
+        public ItemRepository itemRepository;
+        public EntityManager em;
+
+        @Override
+        protected void seed() {
+            itemRepository = context.getBean(ItemRepository.class);
+            em = context.getBean(EntityManager.class);
+        }
+
+        // 매번 빈 테이블에서 시작
+        @TearDown(Level.Invocation)
+        public void clearItems() {
+            itemRepository.deleteAllInBatch();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ConflictState extends ItemState {
+
+        // 적재할 id 중 절반은 이미 있는 상태
+        @Setup(Level.Invocation)
+        public void seedExisting() {
+            itemRepository.insertAll(IntStream.range(0, ROWS / 2).mapToObj(ItemInsertBenchmark::item), BATCH_SIZE);
+        }
+    }
+
+    @Benchmark
+    public void save(ItemState state) {
+        chunks().forEach(chunk -> state.itemRepository.saveAll(chunk));
+    }
+
+    @Benchmark
+    public void merge(ItemState state) {
+        chunks().forEach(chunk -> state.transactionTemplate.executeWithoutResult(status -> {
+            chunk.forEach(state.em::merge);
+        }));
+    }
+
+    @Benchmark
+    public void insertAll(ItemState state) {
+        state.itemRepository.insertAll(IntStream.range(0, ROWS).mapToObj(ItemInsertBenchmark::item), BATCH_SIZE);
+    }
+
+    @Benchmark
+    public int insertIfAbsent(ConflictState state) {
+        List<String> ids = IntStream.range(0, ROWS).mapToObj(ItemInsertBenchmark::id).collect(Collectors.toList());
+        return state.itemRepository.insertIfAbsent(ids, BATCH_SIZE);
+    }
+
+    private static Stream<List<Item>> chunks() {
+        return IntStream.range(0, ROWS / BATCH_SIZE)
+                .mapToObj(c -> IntStream.range(c * BATCH_SIZE, (c + 1) * BATCH_SIZE)
+                        .mapToObj(ItemInsertBenchmark::item)
+                        .collect(Collectors.toList()));
+    }
+
+    private static Item item(int i) {
+        return new Item(id(i));
+    }
+
+    private static String id(int i) {
+        return "item" + i;
+    }
+}
@@ -0,0 +1,40 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page (컨텐츠 + count 쿼리) vs Slice (size + 1 건 조회, count 없음)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PagingBenchmark {
+
+    private static final int AGE = 10;
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+    @Benchmark
+    public Page<Member> page(RepositoryState state) {
+        return state.memberRepository.findByAge(AGE, PAGE_REQUEST);
+    }
+
+    @Benchmark
+    public Slice<Member> slice(RepositoryState state) {
+        return state.memberRepository.findSliceByAge(AGE, PAGE_REQUEST);
+    }
+}
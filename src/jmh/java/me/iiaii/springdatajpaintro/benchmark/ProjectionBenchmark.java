@@ -0,0 +1,82 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.dto.MemberDto;
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.NestedClosedProjections;
+import me.iiaii.springdatajpaintro.repository.UsernameOnly;
+import me.iiaii.springdatajpaintro.repository.UsernameOnlyDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 조회 vs 각종 projection
+ * - 전체 조회: findAll(엔티티) vs findMemberDto(생성자 projection)
+ * - username 조건 조회: 엔티티 vs 인터페이스 / 클래스 / 중첩 projection (같은 행 수)
+ * 값을 꺼내는 비용까지 포함하도록 getter 결과를 Blackhole 로 소비한다
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final String USERNAME = "member1";
+
+    @Benchmark
+    public void findAllEntity(RepositoryState state, Blackhole bh) {
+        for (Member member : state.memberRepository.findAll()) {
+            bh.consume(member.getUsername());
+        }
+    }
+
+    @Benchmark
+    public void findAllMemberDto(RepositoryState state, Blackhole bh) {
+        for (MemberDto dto : state.memberRepository.findMemberDto()) {
+            bh.consume(dto.getUsername());
+        }
+    }
+
+    @Benchmark
+    public void byUsernameEntity(RepositoryState state, Blackhole bh) {
+        for (Member member : state.memberRepository.findListByUsername(USERNAME)) {
+            bh.consume(member.getUsername());
+        }
+    }
+
+    // 생성된 구현 클래스 (ProjectionType)
+    @Benchmark
+    public void byUsernameInterfaceProjection(RepositoryState state, Blackhole bh) {
+        List<UsernameOnly> result = state.memberRepository.findProjectionsByUsername(USERNAME);
+        for (UsernameOnly row : result) {
+            bh.consume(row.getUsername());
+        }
+    }
+
+    @Benchmark
+    public void byUsernameClassProjection(RepositoryState state, Blackhole bh) {
+        List<UsernameOnlyDto> result = state.memberRepository.findProjections2ByUsername(USERNAME);
+        for (UsernameOnlyDto row : result) {
+            bh.consume(row.getUsername());
+        }
+    }
+
+    @Benchmark
+    public void byUsernameNestedProjection(RepositoryState state, Blackhole bh) {
+        List<NestedClosedProjections> result =
+                state.memberRepository.findDynamicProjectionsByUsername(USERNAME, NestedClosedProjections.class);
+        for (NestedClosedProjections row : result) {
+            bh.consume(row.getUsername());
+            bh.consume(row.getTeam().getName());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.projection.ProjectionType;
+import me.iiaii.springdatajpaintro.repository.NestedClosedProjections;
+import me.iiaii.springdatajpaintro.repository.UsernameOnly;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 없이 projection 생성 + getter 호출 비용만 비교 (행 1000 건)
+ * proxy: 스프링 데이터가 쿼리 결과(TupleBackedMap)를 감싸는 방식과 같은 Map 기반 JDK 프록시
+ * generated: ProjectionType 이 생성한 구현 클래스에 tuple 을 바로 채움
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectionMappingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private final SpelAwareProxyProjectionFactory proxyFactory = new SpelAwareProxyProjectionFactory();
+    private final List<Map<String, Object>> maps = new ArrayList<>();
+    private final List<Map<String, Object>> nestedMaps = new ArrayList<>();
+    private final List<Object[]> tuples = new ArrayList<>();
+    private final List<Object[]> nestedTuples = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            String username = "member" + i;
+            String teamName = i % 2 == 0 ? "team" + (i % 10) : null;
+
+            maps.add(Collections.singletonMap("username", username));
+            Map<String, Object> nested = new HashMap<>();
+            nested.put("username", username);
+            nested.put("team", teamName == null ? null : Collections.singletonMap("name", teamName));
+            nestedMaps.add(nested);
+
+            tuples.add(new Object[]{username});
+            Long teamId = teamName == null ? null : (long) (i % 10);
+            nestedTuples.add(new Object[]{teamId, teamName, username}); // 속성 이름순: team.id, team.name, username
+        }
+        ProjectionType.of(UsernameOnly.class);
+        ProjectionType.of(NestedClosedProjections.class);
+    }
+
+    @Benchmark
+    public void proxyUsernameOnly(Blackhole bh) {
+        for (Map<String, Object> row : maps) {
+            bh.consume(proxyFactory.createProjection(UsernameOnly.class, row).getUsername());
+        }
+    }
+
+    @Benchmark
+    public void generatedUsernameOnly(Blackhole bh) {
+        ProjectionType<UsernameOnly> type = ProjectionType.of(UsernameOnly.class);
+        for (Object[] row : tuples) {
+            bh.consume(type.fromTuple(row).getUsername());
+        }
+    }
+
+    @Benchmark
+    public void proxyNested(Blackhole bh) {
+        for (Map<String, Object> row : nestedMaps) {
+            NestedClosedProjections projection = proxyFactory.createProjection(NestedClosedProjections.class, row);
+            bh.consume(projection.getUsername());
+            bh.consume(projection.getTeam() == null ? null : projection.getTeam().getName());
+        }
+    }
+
+    @Benchmark
+    public void generatedNested(Blackhole bh) {
+        ProjectionType<NestedClosedProjections> type = ProjectionType.of(NestedClosedProjections.class);
+        for (Object[] row : nestedTuples) {
+            NestedClosedProjections projection = type.fromTuple(row);
+            bh.consume(projection.getUsername());
+            bh.consume(projection.getTeam() == null ? null : projection.getTeam().getName());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메소드 이름으로 생성한 쿼리 vs @Query JPQL
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryMethodBenchmark {
+
+    @Benchmark
+    public List<Member> derivedQuery(RepositoryState state) {
+        return state.memberRepository.findByUsername("member1");
+    }
+
+    @Benchmark
+    public List<Member> jpqlQuery(RepositoryState state) {
+        return state.memberRepository.findUser("member1", 1);
+    }
+}
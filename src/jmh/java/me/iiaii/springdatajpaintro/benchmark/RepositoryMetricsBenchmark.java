@@ -0,0 +1,51 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 메소드 계측 (repository.metrics.enabled) 을 켰을 때의 호출당 추가 비용
+ * 같은 조건에서 org.hibernate.type: trace 로깅 비용과 비교하려면 logging 파라미터를 trace 로
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryMetricsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class MetricsState extends RepositoryState {
+
+        @Param({"false", "true"})
+        public boolean metrics;
+
+        @Param({"warn"})
+        public String logging;
+
+        @Override
+        protected String[] properties() {
+            return new String[]{
+                    "repository.metrics.enabled=" + metrics,
+                    "logging.level.org.hibernate.SQL=" + (logging.equals("trace") ? "debug" : logging),
+                    "logging.level.org.hibernate.type=" + logging};
+        }
+    }
+
+    @Benchmark
+    public List<Member> findUser(MetricsState state) {
+        return state.memberRepository.findUser("member1", 1);
+    }
+}
@@ -0,0 +1,87 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.SpringDataJpaIntroApplication;
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.entity.Team;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import me.iiaii.springdatajpaintro.repository.TeamRepository;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 임베디드 H2(mem) 로 애플리케이션 컨텍스트를 띄우고 데이터를 적재하는 공통 state
+ * 2차 캐시 / 쿼리 캐시 / SQL 로깅은 꺼서 쿼리 방식 자체의 비용만 측정한다
+ */
+@State(Scope.Benchmark)
+public class RepositoryState {
+
+    public static final int TEAM_COUNT = 10;
+    public static final int MEMBER_COUNT = 1000;
+    public static final int USERNAME_COUNT = 10; // username 당 MEMBER_COUNT / USERNAME_COUNT 건
+
+    public ConfigurableApplicationContext context;
+    public MemberRepository memberRepository;
+    public TeamRepository teamRepository;
+    public TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        List<String> properties = new ArrayList<>(Arrays.asList(
+                "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "decorator.datasource.enabled=false",
+                "logging.level.org.hibernate.SQL=warn",
+                "logging.level.org.hibernate.type=warn",
+                "logging.level.root=warn"));
+        properties.addAll(Arrays.asList(properties()));
+
+        context = new SpringApplicationBuilder(SpringDataJpaIntroApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(new String[0]))
+                .run();
+        memberRepository = context.getBean(MemberRepository.class);
+        teamRepository = context.getBean(TeamRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // 하위 state 에서 설정을 덮어쓸 때 사용
+    protected String[] properties() {
+        return new String[0];
+    }
+
+    protected void seed() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            teams.add(new Team("team" + i));
+        }
+        teamRepository.saveAll(teams);
+        memberRepository.saveAllBatched(IntStream.range(0, MEMBER_COUNT)
+                .mapToObj(i -> new Member(username(i), i % 100, teams.get(i % TEAM_COUNT))), 500);
+    }
+
+    public static String username(int i) {
+        return "member" + (i % USERNAME_COUNT);
+    }
+}
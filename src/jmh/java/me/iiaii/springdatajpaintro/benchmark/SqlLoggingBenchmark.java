@@ -0,0 +1,67 @@
+package me.iiaii.springdatajpaintro.benchmark;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 로깅 방식별 처리량
+ * - NONE: 로깅 없음
+ * - SYNC: 기본 설정 (p6spy 로깅 + format_sql + org.hibernate.SQL debug / type trace, 요청 스레드에서 출력)
+ * - SAMPLED: sqllog 프로파일 (1/100 표본 + 느린 SQL, 백그라운드 스레드에서 출력)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SqlLoggingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LoggingState extends RepositoryState {
+
+        @Param({"NONE", "SYNC", "SAMPLED"})
+        public String logging;
+
+        @Override
+        protected String[] properties() {
+            switch (logging) {
+                case "SYNC":
+                    return new String[]{
+                            "decorator.datasource.enabled=true",
+                            "spring.jpa.properties.hibernate.format_sql=true",
+                            "logging.level.p6spy=info",
+                            "logging.level.org.hibernate.SQL=debug",
+                            "logging.level.org.hibernate.type=trace"};
+                case "SAMPLED":
+                    return new String[]{
+                            "decorator.datasource.enabled=true",
+                            "decorator.datasource.p6spy.enable-logging=false",
+                            "sql.log.enabled=true",
+                            "sql.log.sample-rate=100",
+                            "sql.log.slow-threshold=200ms",
+                            "logging.level.me.iiaii.springdatajpaintro.sql.AsyncSqlLogListener=info"};
+                default:
+                    return new String[0];
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Member> findUser(LoggingState state) {
+        return state.memberRepository.findUser("member1", 1);
+    }
+}
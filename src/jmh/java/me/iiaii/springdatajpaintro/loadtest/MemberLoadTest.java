@@ -0,0 +1,173 @@
+package me.iiaii.springdatajpaintro.loadtest;
+
+import me.iiaii.springdatajpaintro.SpringDataJpaIntroApplication;
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 동시 클라이언트 N 명이 응답을 받자마자 다음 요청을 보내는 closed-loop 부하 테스트
+ * 블로킹(/members/{id}) vs 비동기(/async/members/{id}) 의 초당 요청 수와 지연 시간을 비교
+ *
+ * ./gradlew loadTest -PloadTestArgs='--clients=1000 --duration=30 --warmup=5'
+ */
+public class MemberLoadTest {
+
+    private static final int MEMBER_COUNT = 1000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .collect(Collectors.toMap(arg -> arg.substring(2, arg.indexOf('=')), arg -> arg.substring(arg.indexOf('=') + 1)));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringDataJpaIntroApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "decorator.datasource.enabled=false",
+                        "sql.budget.enabled=false",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.org.hibernate.type=warn",
+                        "logging.level.root=warn")
+                .run();
+        try {
+            List<Long> ids = seed(context.getBean(MemberRepository.class));
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            System.out.printf("clients=%d, duration=%s, tomcat threads=%s%n", clients, duration,
+                    context.getEnvironment().getProperty("server.tomcat.threads.max", "200"));
+            List<Result> results = new ArrayList<>();
+            results.add(run("blocking", id -> baseUrl + "/members/" + id, ids, clients, warmup, duration));
+            results.add(run("async", id -> baseUrl + "/async/members/" + id, ids, clients, warmup, duration));
+
+            System.out.printf("%-10s %12s %10s %10s %10s %10s%n", "mode", "req/s", "p50(ms)", "p99(ms)", "503", "errors");
+            results.forEach(Result::print);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static List<Long> seed(MemberRepository memberRepository) {
+        memberRepository.saveAllBatched(IntStream.range(0, MEMBER_COUNT)
+                .mapToObj(i -> new Member("load" + i, i % 100)), 500);
+        return memberRepository.findAll().stream()
+                .map(Member::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static Result run(String name, Function<Long, String> url, List<Long> ids, int clients,
+                              Duration warmup, Duration duration) throws InterruptedException {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient client = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            runPhase(client, url, ids, clients, warmup, new Result(name));
+            Result result = new Result(name);
+            long start = System.nanoTime();
+            runPhase(client, url, ids, clients, duration, result);
+            result.elapsedNanos = System.nanoTime() - start;
+            return result;
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    // 클라이언트마다 응답을 받으면 곧바로 다음 요청 (동시에 진행 중인 요청 수 = clients)
+    private static void runPhase(HttpClient client, Function<Long, String> url, List<Long> ids, int clients,
+                                 Duration duration, Result result) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            send(client, url, ids, deadline, result, done);
+        }
+        done.await();
+    }
+
+    private static void send(HttpClient client, Function<Long, String> url, List<Long> ids, long deadline,
+                             Result result, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url.apply(id)))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    result.record(response == null ? -1 : response.statusCode(), System.nanoTime() - start);
+                    send(client, url, ids, deadline, result, done);
+                });
+    }
+
+    static class Result {
+
+        final String name;
+        final LongAdder ok = new LongAdder();
+        final LongAdder overloaded = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        long elapsedNanos;
+
+        Result(String name) {
+            this.name = name;
+        }
+
+        void record(int status, long latencyNanos) {
+            if (status == 200) {
+                ok.increment();
+                latencies.add(latencyNanos);
+            } else if (status == 503) {
+                overloaded.increment();
+            } else {
+                errors.increment();
+            }
+        }
+
+        void print() {
+            List<Long> sorted;
+            synchronized (latencies) {
+                sorted = new ArrayList<>(latencies);
+            }
+            Collections.sort(sorted);
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10d %10d%n", name, ok.sum() / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), overloaded.sum(), errors.sum());
+        }
+
+        private static double percentile(List<Long> sorted, double p) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+}
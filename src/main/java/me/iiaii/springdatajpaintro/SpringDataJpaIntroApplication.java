@@ -1,15 +1,17 @@
 package me.iiaii.springdatajpaintro;
 
+import me.iiaii.springdatajpaintro.audit.CachingAuditorAware;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
-@EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 public class SpringDataJpaIntroApplication {
 
@@ -17,9 +19,18 @@ public class SpringDataJpaIntroApplication {
         SpringApplication.run(SpringDataJpaIntroApplication.class, args);
     }
 
+    // AuditFieldListener 가 사용, 트랜잭션(요청)당 한 번만 생성
     @Bean
     public AuditorAware<String> auditorProvider() {
-        return () -> Optional.of(UUID.randomUUID().toString());
+        return new CachingAuditorAware<>(() -> Optional.of(randomUuid().toString()));
+    }
+
+    // SecureRandom 대신 ThreadLocalRandom 으로 만든 RFC 4122 version 4 UUID (UUID.randomUUID() 와 같은 형식)
+    static UUID randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L; // version 4
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // IETF variant
+        return new UUID(msb, lsb);
     }
 
 }
@@ -0,0 +1,24 @@
+package me.iiaii.springdatajpaintro.audit;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * LocalDateTime.now() 는 호출할 때마다 기본 타임존을 다시 조회하므로 Clock 을 한 번만 만들어 재사용
+ */
+public final class AuditClock {
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private AuditClock() {
+    }
+
+    public static LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    // 테스트에서 고정 시각을 쓸 때
+    public static void setClock(Clock clock) {
+        AuditClock.clock = clock;
+    }
+}
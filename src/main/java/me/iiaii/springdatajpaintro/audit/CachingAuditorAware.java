@@ -0,0 +1,55 @@
+package me.iiaii.springdatajpaintro.audit;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * auditor 를 트랜잭션(없으면 HTTP 요청)당 한 번만 조회해서 재사용
+ * 엔티티를 저장할 때마다 delegate 를 호출하지 않는다
+ */
+public class CachingAuditorAware<T> implements AuditorAware<T> {
+
+    private static final String ATTRIBUTE = CachingAuditorAware.class.getName() + ".auditor";
+
+    private final AuditorAware<T> delegate;
+    private final Object resourceKey = new Object();
+
+    public CachingAuditorAware(AuditorAware<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> getCurrentAuditor() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Optional<T> auditor = (Optional<T>) TransactionSynchronizationManager.getResource(resourceKey);
+            if (auditor == null) {
+                auditor = delegate.getCurrentAuditor();
+                TransactionSynchronizationManager.bindResource(resourceKey, auditor);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                    }
+                });
+            }
+            return auditor;
+        }
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            Optional<T> auditor = (Optional<T>) request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (auditor == null) {
+                auditor = delegate.getCurrentAuditor();
+                request.setAttribute(ATTRIBUTE, auditor, RequestAttributes.SCOPE_REQUEST);
+            }
+            return auditor;
+        }
+        return delegate.getCurrentAuditor();
+    }
+}
@@ -0,0 +1,133 @@
+package me.iiaii.springdatajpaintro.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import me.iiaii.springdatajpaintro.dto.MemberDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * member_id -> MemberDto read-through 캐시 (GET /members/{id} 용)
+ * 조회 경로에 전역 락이 없도록 ConcurrentHashMap 을 쓰고, maxEntries 를 넘으면 임의의 항목부터 제거한다 (LRU 아님)
+ * 회원 수정 / 삭제 / 벌크 수정은 커밋 후 무효화된다 (MemberDtoCacheInvalidator, MemberRepositoryImpl.bulkAgePlus)
+ */
+@Component
+public class MemberDtoCache {
+
+    private final int maxEntries;
+    private final Map<Long, MemberDto> entries;
+
+    // 무효화마다 증가. 로딩 중에 무효화가 있었으면 로딩한 (이미 지난) 값을 넣지 않는다
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Timer loadTimer;
+
+    public MemberDtoCache(@Value("${member.lookup.max-entries:10000}") int maxEntries, MeterRegistry registry) {
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>();
+        this.loadTimer = Timer.builder("member.lookup.cache.load")
+                .description("Time to load a MemberDto on cache miss")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        FunctionCounter.builder("member.lookup.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("member.lookup.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("member.lookup.cache.hit.ratio", this, MemberDtoCache::hitRatio)
+                .register(registry);
+        Gauge.builder("member.lookup.cache.size", this, MemberDtoCache::size)
+                .register(registry);
+    }
+
+    // 없는 id 는 캐시하지 않는다
+    public Optional<MemberDto> get(Long id, Function<Long, Optional<MemberDto>> loader) {
+        MemberDto cached = entries.get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        Optional<MemberDto> loaded = loadTimer.record(() -> loader.apply(id));
+        loaded.ifPresent(dto -> {
+            if (generation.get() != loadGeneration) {
+                return;
+            }
+            entries.put(id, dto);
+            // 넣는 사이에 무효화가 있었으면 되돌림 (무효화는 generation 을 먼저 올리고 지운다)
+            if (generation.get() != loadGeneration) {
+                entries.remove(id, dto);
+            }
+            evictIfFull();
+        });
+        return loaded;
+    }
+
+    // 동시에 여러 스레드가 제거하면 maxEntries 보다 조금 더 지워질 수 있음
+    private void evictIfFull() {
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public void invalidate(Long id) {
+        generation.incrementAndGet();
+        entries.remove(id);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    // 트랜잭션 안이면 커밋(롤백) 후에 무효화 -> 커밋 전 다른 트랜잭션이 읽어 넣은 값도 지워진다
+    public void invalidateAfterCompletion(Long id) {
+        afterCompletion(() -> invalidate(id));
+    }
+
+    public void invalidateAllAfterCompletion() {
+        afterCompletion(this::invalidateAll);
+    }
+
+    private void afterCompletion(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidation.run();
+            }
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public double hitRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+}
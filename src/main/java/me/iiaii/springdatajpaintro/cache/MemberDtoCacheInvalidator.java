@@ -0,0 +1,36 @@
+package me.iiaii.springdatajpaintro.cache;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Member / Team 이 수정, 삭제되면 MemberDtoCache 무효화 (save, 변경 감지 모두 flush 시점에 호출됨)
+ * 팀 이름은 여러 회원의 MemberDto 에 들어가므로 팀이 바뀌면 전체를 비운다
+ */
+public class MemberDtoCacheInvalidator {
+
+    private ObjectProvider<MemberDtoCache> cache;
+
+    @Autowired
+    public void configure(ObjectProvider<MemberDtoCache> cache) {
+        this.cache = cache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object target) {
+        MemberDtoCache memberDtoCache = cache == null ? null : cache.getIfAvailable();
+        if (memberDtoCache == null) {
+            return;
+        }
+        if (target instanceof Member) {
+            memberDtoCache.invalidateAfterCompletion(((Member) target).getId());
+        } else {
+            memberDtoCache.invalidateAllAfterCompletion();
+        }
+    }
+}
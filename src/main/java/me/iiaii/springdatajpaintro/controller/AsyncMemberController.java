@@ -0,0 +1,46 @@
+package me.iiaii.springdatajpaintro.controller;
+
+import lombok.RequiredArgsConstructor;
+import me.iiaii.springdatajpaintro.cache.MemberDtoCache;
+import me.iiaii.springdatajpaintro.dto.MemberDto;
+import me.iiaii.springdatajpaintro.repository.CountMode;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import me.iiaii.springdatajpaintro.service.AsyncQueryExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * MemberController 와 같은 조회를 비동기로 (서블릿 스레드는 DB 호출을 기다리지 않고 바로 반환)
+ * 동시 실행 한도는 member.async.limits.{findMember|list}
+ */
+@RestController
+@RequiredArgsConstructor
+public class AsyncMemberController {
+
+    private final MemberRepository memberRepository;
+    private final AsyncQueryExecutor asyncQueryExecutor;
+    private final MemberDtoCache memberDtoCache;
+
+    @GetMapping("/async/members/{id}")
+    public CompletableFuture<String> findMember(@PathVariable("id") Long id) {
+        return asyncQueryExecutor.submit("findMember", () -> memberDtoCache.get(id, memberRepository::findMemberDtoById)
+                .map(MemberDto::getUsername)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    // DTO 로 바로 조회하므로 트랜잭션이 끝난 뒤 지연 로딩이 없다 (비동기 스레드에는 OSIV 가 적용되지 않음)
+    @GetMapping("/async/members")
+    public CompletableFuture<Page<MemberDto>> list(@PageableDefault(size = 3) Pageable pageable,
+                                                   @RequestParam(value = "count", defaultValue = "${member.page.count-mode:EXACT}") CountMode countMode) {
+        return asyncQueryExecutor.submit("list", () -> memberRepository.findMemberDtoPage(pageable, countMode));
+    }
+}
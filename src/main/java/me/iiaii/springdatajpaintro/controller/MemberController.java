@@ -1,46 +1,105 @@
 package me.iiaii.springdatajpaintro.controller;
 
 import lombok.RequiredArgsConstructor;
+import me.iiaii.springdatajpaintro.cache.MemberDtoCache;
 import me.iiaii.springdatajpaintro.dto.MemberDto;
 import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.CountMode;
+import me.iiaii.springdatajpaintro.repository.KeysetCursor;
+import me.iiaii.springdatajpaintro.repository.KeysetWindow;
 import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import me.iiaii.springdatajpaintro.service.MemberExportService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_KEYSET_SIZE = 10;
+
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
+    private final MemberDtoCache memberDtoCache;
 
+    // 엔티티 대신 캐시된 MemberDto (없으면 DTO 조회 쿼리로 로딩)
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).get();
-        return member.getUsername();
+        return findMemberDto(id).getUsername();
     }
 
     // 조회용으로만 사용해야 함 (영속성 컨텍스트에 등록되지 않아서 변경 감지가 일어나지 않는다)
+    // 도메인 클래스 컨버터 예제라 캐시를 거치지 않고 매번 em.find (캐시 조회는 /members/{id})
     @GetMapping("/members2/{id}")
     public String findMember2(@PathVariable("id") Member member) {
         return member.getUsername();
     }
 
+    private MemberDto findMemberDto(Long id) {
+        return memberDtoCache.get(id, memberRepository::findMemberDtoById)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    // 엔티티 대신 MemberDto 로 바로 조회
+    // count=LAZY|ESTIMATED 로 요청하면 전체 count 쿼리를 생략하거나 캐시된 추정치를 사용
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size = 3) Pageable pageable) {
-        return memberRepository.findAll(pageable)
+    public Page<MemberDto> list(@PageableDefault(size = 3) Pageable pageable,
+                                @RequestParam(value = "count", defaultValue = "${member.page.count-mode:EXACT}") CountMode countMode) {
+        return memberRepository.findMemberDtoPage(pageable, countMode);
+    }
+
+    // page= 대신 cursor= 로 요청하면 keyset 페이징 (cursor= 빈 값이면 첫 페이지)
+    @GetMapping(value = "/members", params = "cursor")
+    public KeysetWindow<MemberDto> list(@RequestParam("cursor") String cursor,
+                                        @RequestParam(value = "size", defaultValue = "3") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_KEYSET_SIZE));
+        return memberRepository.findAll(decodeCursor(cursor), limit)
                 .map(MemberDto::new);
     }
 
+    // 클라이언트가 보낸 cursor 가 깨져 있으면 500 대신 400
+    private KeysetCursor decodeCursor(String cursor) {
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    // 전체 회원을 메모리에 올리지 않고 응답 스트림으로 바로 출력 (format=ndjson|csv)
+    @GetMapping("/members/export")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        MemberExportService.Format exportFormat = parseFormat(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        memberExportService.export(exportFormat, response.getOutputStream());
+    }
+
+    // 대소문자 구분 없이 매칭, 모르는 format 이면 500 대신 400
+    private MemberExportService.Format parseFormat(String format) {
+        return Arrays.stream(MemberExportService.Format.values())
+                .filter(f -> f.name().equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown export format: " + format));
+    }
+
 //    @PostConstruct
     public void init() {
-        for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("user_" + i, i));
-        }
+        memberRepository.saveAllBatched(IntStream.range(0, 100)
+                .mapToObj(i -> new Member("user_" + i, i)), 100);
     }
 }
@@ -0,0 +1,49 @@
+package me.iiaii.springdatajpaintro.entity;
+
+import me.iiaii.springdatajpaintro.audit.AuditClock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+/**
+ * BaseTimeEntity / BaseEntity 의 감사 필드 설정 (AuditingEntityListener 대신)
+ * 리플렉션 없이 필드를 직접 채우고, auditor 는 CachingAuditorAware 로 트랜잭션(요청)당 한 번만 조회
+ * (hibernate 가 스프링 빈 컨테이너로 생성하므로 빈을 주입받을 수 있다)
+ */
+public class AuditFieldListener {
+
+    private ObjectProvider<AuditorAware<String>> auditorAware;
+
+    @Autowired
+    public void configure(ObjectProvider<AuditorAware<String>> auditorAware) {
+        this.auditorAware = auditorAware;
+    }
+
+    @PrePersist
+    public void touchForCreate(Object target) {
+        if (target instanceof BaseEntity) {
+            ((BaseEntity) target).markCreatedBy(currentAuditor());
+        }
+        if (target instanceof BaseTimeEntity) {
+            ((BaseTimeEntity) target).markCreated(AuditClock.now());
+        }
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        if (target instanceof BaseEntity) {
+            ((BaseEntity) target).markModifiedBy(currentAuditor());
+        }
+        if (target instanceof BaseTimeEntity) {
+            ((BaseTimeEntity) target).markModified(AuditClock.now());
+        }
+    }
+
+    private String currentAuditor() {
+        AuditorAware<String> auditor = auditorAware == null ? null : auditorAware.getIfAvailable();
+        return auditor == null ? null : auditor.getCurrentAuditor().orElse(null);
+    }
+}
@@ -1,26 +1,25 @@
 package me.iiaii.springdatajpaintro.entity;
 
 import lombok.Getter;
-import org.springframework.data.annotation.CreatedBy;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
-import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
-import java.time.LocalDateTime;
 
 @Getter
-@EntityListeners(AuditingEntityListener.class)
 @MappedSuperclass
 public class BaseEntity extends BaseTimeEntity {
 
-    @CreatedBy
     @Column(updatable = false)
     private String createdBy;
 
-    @LastModifiedBy
     private String lastModifiedBy;
+
+    void markCreatedBy(String auditor) {
+        this.createdBy = auditor;
+        this.lastModifiedBy = auditor;
+    }
+
+    void markModifiedBy(String auditor) {
+        this.lastModifiedBy = auditor;
+    }
 }
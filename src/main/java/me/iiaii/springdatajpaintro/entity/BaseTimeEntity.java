@@ -1,9 +1,6 @@
 package me.iiaii.springdatajpaintro.entity;
 
 import lombok.Getter;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.Column;
 import javax.persistence.EntityListeners;
@@ -11,14 +8,22 @@ import javax.persistence.MappedSuperclass;
 import java.time.LocalDateTime;
 
 @Getter
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(AuditFieldListener.class)
 @MappedSuperclass
 public class BaseTimeEntity {
 
-    @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdDate;
 
-    @LastModifiedDate
     private LocalDateTime lastModifiedDate;
+
+    // AuditFieldListener 에서 리플렉션 없이 호출
+    void markCreated(LocalDateTime now) {
+        this.createdDate = now;
+        this.lastModifiedDate = now;
+    }
+
+    void markModified(LocalDateTime now) {
+        this.lastModifiedDate = now;
+    }
 }
@@ -2,6 +2,7 @@ package me.iiaii.springdatajpaintro.entity;
 
 import lombok.Getter;
 import lombok.Setter;
+import me.iiaii.springdatajpaintro.audit.AuditClock;
 
 import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
@@ -19,13 +20,13 @@ public class JpaBaseEntity {
 
     @PrePersist
     public void prePersist() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = AuditClock.now();
         createdDate = now;
         updatedDate = now;
     }
 
     @PreUpdate
     public void preUpdate() {
-        updatedDate = LocalDateTime.now();
+        updatedDate = AuditClock.now();
     }
 }
@@ -1,18 +1,40 @@
 package me.iiaii.springdatajpaintro.entity;
 
 import lombok.*;
+import me.iiaii.springdatajpaintro.cache.MemberDtoCacheInvalidator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
+// Team.members 컬렉션 캐시는 id 만 저장하므로 Member 도 캐시해야 추가 쿼리가 없다
 @Entity
+@Table(indexes = {
+        // username 조회, username + age 조회 (findByUsernameAndAgeGreaterThan, findUser)
+        @Index(name = "idx_member_username_age", columnList = "username, age"),
+        // age 조회 + username 정렬 (findByAge 페이징 / keyset)
+        @Index(name = "idx_member_age_username", columnList = "age, username")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(MemberDtoCacheInvalidator.class)
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
 public class Member extends BaseEntity {
 
-    @Id @GeneratedValue
+    // pooled 시퀀스 (allocationSize 만큼 한 번에 할당) -> insert 마다 시퀀스 조회 X, jdbc batch insert 가능
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
+
+    // 낙관적 락 (수정 시 버전 비교, 충돌하면 OptimisticLockException)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     private String username;
     private int age;
 
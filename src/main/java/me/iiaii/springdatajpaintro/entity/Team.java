@@ -1,27 +1,47 @@
 package me.iiaii.springdatajpaintro.entity;
 
 import lombok.*;
+import me.iiaii.springdatajpaintro.cache.MemberDtoCacheInvalidator;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(MemberDtoCacheInvalidator.class)
+@BatchSize(size = 100) // member.getTeam() 프록시 초기화를 묶어서
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
 public class Team extends BaseEntity {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
     @Column(name = "team_id")
     private Long id;
+
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     private String name;
 
     public Team(String name) {
         this.name = name;
     }
 
+    // 여러 팀의 members 를 IN (...) 한 번으로 초기화
+    // 조회한 팀 전체의 members 를 한 번에 가져오려면 @Fetch(FetchMode.SUBSELECT) 로 바꿀 수 있음
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @BatchSize(size = 100)
+    @OptimisticLock(excluded = true) // 회원의 팀 이동이 팀 버전을 올리지 않도록
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 }
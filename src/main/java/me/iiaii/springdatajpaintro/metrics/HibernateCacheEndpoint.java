@@ -0,0 +1,81 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/hibernatecache
+ * 2차 캐시 / 쿼리 캐시의 region 별 hit, miss, put 과 ehcache(JCache) 의 eviction 통계
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+@RequiredArgsConstructor
+public class HibernateCacheEndpoint {
+
+    private static final String JCACHE_STATISTICS = "javax.cache:type=CacheStatistics,*";
+
+    private final EntityManagerFactory emf;
+
+    @ReadOperation
+    public Map<String, Object> cacheStatistics() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("hits", region.getHitCount());
+            values.put("misses", region.getMissCount());
+            values.put("puts", region.getPutCount());
+            values.put("elementsInMemory", region.getElementCountInMemory());
+            regions.put(regionName, values);
+        }
+
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hits", statistics.getQueryCacheHitCount());
+        queryCache.put("misses", statistics.getQueryCacheMissCount());
+        queryCache.put("puts", statistics.getQueryCachePutCount());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("regions", regions);
+        result.put("queryCache", queryCache);
+        result.put("provider", providerStatistics());
+        return result;
+    }
+
+    // 용량 / TTL 로 제거된 건수는 hibernate 통계에 없으므로 JCache MXBean 에서 읽는다
+    private Map<String, Object> providerStatistics() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Map<String, Object> caches = new LinkedHashMap<>();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName(JCACHE_STATISTICS), null)) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("hits", server.getAttribute(name, "CacheHits"));
+                values.put("misses", server.getAttribute(name, "CacheMisses"));
+                values.put("evictions", server.getAttribute(name, "CacheEvictions"));
+                values.put("hitPercentage", server.getAttribute(name, "CacheHitPercentage"));
+                caches.put(name.getKeyProperty("Cache"), values);
+            }
+        } catch (JMException e) {
+            caches.put("error", e.getMessage());
+        }
+        return caches;
+    }
+}
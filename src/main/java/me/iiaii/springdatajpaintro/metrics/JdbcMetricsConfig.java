@@ -0,0 +1,22 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+public class JdbcMetricsConfig {
+
+    // p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동 등록
+    @Bean
+    public StatementCacheListener statementCacheListener(@Value("${jdbc.statement-cache.size:0}") int cacheSize) {
+        return new StatementCacheListener(cacheSize);
+    }
+
+    @Bean
+    public QueryPlanCacheMetrics queryPlanCacheMetrics(EntityManagerFactory emf) {
+        return new QueryPlanCacheMetrics(emf);
+    }
+}
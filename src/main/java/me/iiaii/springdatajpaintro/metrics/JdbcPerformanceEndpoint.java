@@ -0,0 +1,83 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /actuator/jdbcperf
+ * 커넥션 풀(풀 별 active / idle / pending, 대기 시간)과 query plan 캐시 hit rate, statement 캐시 시뮬레이션 값을 한 번에 보여준다
+ * 개별 값은 /actuator/metrics/hikaricp.connections.* , hibernate.query.plan.cache.* , jdbc.statement.cache.simulated.* 로도 조회 가능
+ */
+@Component
+@Endpoint(id = "jdbcperf")
+@RequiredArgsConstructor
+public class JdbcPerformanceEndpoint {
+
+    private final MeterRegistry registry;
+    private final EntityManagerFactory emf;
+    private final StatementCacheListener statementCacheListener;
+
+    @ReadOperation
+    public Map<String, Object> jdbcPerformance() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pools", pools());
+        result.put("queryPlanCache", queryPlanCache());
+        result.put("simulatedStatementCache", simulatedStatementCache());
+        return result;
+    }
+
+    private Map<String, Object> pools() {
+        Map<String, Object> pools = new LinkedHashMap<>();
+        for (Gauge active : registry.find("hikaricp.connections.active").gauges()) {
+            String pool = active.getId().getTag("pool");
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("active", active.value());
+            values.put("idle", gauge("hikaricp.connections.idle", pool));
+            values.put("pending", gauge("hikaricp.connections.pending", pool));
+            values.put("max", gauge("hikaricp.connections.max", pool));
+            Timer acquire = registry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+            if (acquire != null) {
+                values.put("acquireCount", acquire.count());
+                values.put("acquireMeanMillis", acquire.mean(TimeUnit.MILLISECONDS));
+                values.put("acquireMaxMillis", acquire.max(TimeUnit.MILLISECONDS));
+            }
+            pools.put(pool, values);
+        }
+        return pools;
+    }
+
+    private Double gauge(String name, String pool) {
+        Gauge gauge = registry.find(name).tag("pool", pool).gauge();
+        return gauge == null ? null : gauge.value();
+    }
+
+    private Map<String, Object> queryPlanCache() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hits", statistics.getQueryPlanCacheHitCount());
+        values.put("misses", statistics.getQueryPlanCacheMissCount());
+        values.put("hitRatio", QueryPlanCacheMetrics.hitRatio(statistics));
+        return values;
+    }
+
+    // 드라이버 값이 아니라 StatementCacheListener 의 LRU 시뮬레이션
+    private Map<String, Object> simulatedStatementCache() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hits", statementCacheListener.getHits());
+        values.put("misses", statementCacheListener.getMisses());
+        values.put("hitRatio", statementCacheListener.getHitRatio());
+        return values;
+    }
+}
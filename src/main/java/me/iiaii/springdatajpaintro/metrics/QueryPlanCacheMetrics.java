@@ -0,0 +1,43 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * hibernate query plan 캐시 (JPQL -> SQL 변환 결과) hit / miss
+ * hibernate.generate_statistics 가 켜져 있어야 집계된다
+ */
+@RequiredArgsConstructor
+public class QueryPlanCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory emf;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        FunctionCounter.builder("hibernate.query.plan.cache.requests", statistics, Statistics::getQueryPlanCacheHitCount)
+                .description("Hibernate query plan cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.plan.cache.requests", statistics, Statistics::getQueryPlanCacheMissCount)
+                .description("Hibernate query plan cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("hibernate.query.plan.cache.hit.ratio", statistics, QueryPlanCacheMetrics::hitRatio)
+                .description("Hibernate query plan cache hit ratio")
+                .register(registry);
+    }
+
+    static double hitRatio(Statistics statistics) {
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long total = hits + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,24 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "repository.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsConfig {
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static, MeterRegistry 는 실제 사용할 때 조회
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new RepositoryMetricsPostProcessor(registry);
+    }
+
+    // p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동 등록
+    @Bean
+    public RepositoryStatementCounter repositoryStatementCounter() {
+        return new RepositoryStatementCounter();
+    }
+}
@@ -0,0 +1,72 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /actuator/repositorymetrics
+ * 리포지토리 메소드별 호출 수, 지연 시간 (mean / max / p50 / p99 / p999 ms), 평균 반환 행 수, 평균 SQL 수
+ * p99 가 큰 순서로 정렬 (백분위는 최근 2분 정도의 구간 기준)
+ */
+@Component
+@Endpoint(id = "repositorymetrics")
+@RequiredArgsConstructor
+public class RepositoryMetricsEndpoint {
+
+    private final MeterRegistry registry;
+
+    @ReadOperation
+    public List<Map<String, Object>> repositoryMetrics() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Timer timer : registry.find(RepositoryMetricsInterceptor.LATENCY).timers()) {
+            String repository = timer.getId().getTag("repository");
+            String method = timer.getId().getTag("method");
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("repository", repository);
+            values.put("method", method);
+            values.put("count", snapshot.count());
+            values.put("meanMillis", snapshot.mean(TimeUnit.MILLISECONDS));
+            values.put("maxMillis", snapshot.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                values.put(percentileKey(percentile.percentile()), percentile.value(TimeUnit.MILLISECONDS));
+            }
+            values.put("meanRows", mean(RepositoryMetricsInterceptor.ROWS, repository, method));
+            values.put("meanStatements", mean(RepositoryMetricsInterceptor.STATEMENTS, repository, method));
+            Counter errors = registry.find(RepositoryMetricsInterceptor.ERRORS)
+                    .tag("repository", repository).tag("method", method).counter();
+            values.put("errors", errors == null ? 0 : (long) errors.count());
+            result.add(values);
+        }
+        result.sort(Comparator.comparingDouble((Map<String, Object> values) ->
+                (Double) values.getOrDefault("p99Millis", 0d)).reversed());
+        return result;
+    }
+
+    private Double mean(String name, String repository, String method) {
+        DistributionSummary summary = registry.find(name).tag("repository", repository).tag("method", method).summary();
+        return summary == null || summary.count() == 0 ? null : summary.mean();
+    }
+
+    // 0.5 -> p50Millis, 0.99 -> p99Millis, 0.999 -> p999Millis
+    private static String percentileKey(double percentile) {
+        String digits = String.valueOf(percentile).substring(2);
+        return "p" + (digits.length() == 1 ? digits + "0" : digits) + "Millis";
+    }
+}
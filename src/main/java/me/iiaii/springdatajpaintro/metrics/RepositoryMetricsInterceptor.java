@@ -0,0 +1,121 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 리포지토리 프록시 메소드마다 지연 시간 히스토그램 (p50 / p99 / p999), 반환 행 수, 실행 SQL 수를 기록
+ * 미터는 메소드별로 한 번만 등록하고, 호출마다 하는 일은 nanoTime 두 번과 기록뿐이다
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    static final String LATENCY = "repository.invocations";
+    static final String ROWS = "repository.invocation.rows";
+    static final String STATEMENTS = "repository.invocation.statements";
+    static final String ERRORS = "repository.invocation.errors";
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final MeterRegistry registry;
+    private final String repository;
+    private final Class<?> domainType;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(MeterRegistry registry, Class<?> repositoryInterface, Class<?> domainType) {
+        this.registry = registry;
+        this.repository = repositoryInterface.getSimpleName();
+        this.domainType = domainType;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodMeters methodMeters = meters.computeIfAbsent(invocation.getMethod(), this::register);
+        long statements = RepositoryStatementCounter.current();
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            long rows = rows(invocation.getMethod(), result);
+            if (rows >= 0) {
+                methodMeters.rows.record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            methodMeters.errors.increment();
+            throw e;
+        } finally {
+            methodMeters.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            methodMeters.statements.record(RepositoryStatementCounter.current() - statements);
+        }
+    }
+
+    private MethodMeters register(Method method) {
+        // 오버로딩된 메소드 (ex. findByAge) 는 파라미터 타입으로 구분
+        String signature = method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+        Tags tags = Tags.of("repository", repository, "method", signature);
+        return new MethodMeters(
+                Timer.builder(LATENCY)
+                        .tags(tags)
+                        .publishPercentiles(PERCENTILES)
+                        .percentilePrecision(2)
+                        .register(registry),
+                DistributionSummary.builder(ROWS)
+                        .tags(tags)
+                        .publishPercentiles(PERCENTILES)
+                        .register(registry),
+                DistributionSummary.builder(STATEMENTS)
+                        .tags(tags)
+                        .register(registry),
+                Counter.builder(ERRORS)
+                        .tags(tags)
+                        .register(registry));
+    }
+
+    // 반환 값이 몇 행인지, 알 수 없으면 (void, count, Stream 등) -1
+    private long rows(Method method, Object result) {
+        if (result == null) {
+            return method.getReturnType() == void.class ? -1 : 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return domainType.isInstance(result) ? 1 : -1;
+    }
+
+    private static final class MethodMeters {
+
+        private final Timer latency;
+        private final DistributionSummary rows;
+        private final DistributionSummary statements;
+        private final Counter errors;
+
+        private MethodMeters(Timer latency, DistributionSummary rows, DistributionSummary statements, Counter errors) {
+            this.latency = latency;
+            this.rows = rows;
+            this.statements = statements;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * 모든 스프링 데이터 리포지토리 프록시에 RepositoryMetricsInterceptor 를 끼워 넣는다
+ * 트랜잭션 인터셉터보다 바깥에 두어서 커밋 시점의 flush 까지 포함해서 측정
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    // 리포지토리 프록시는 팩토리 빈의 afterPropertiesSet 에서 만들어지므로 그 전에 customizer 를 등록
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, information) ->
+                            proxyFactory.addAdvice(0, new RepositoryMetricsInterceptor(registry.getObject(),
+                                    information.getRepositoryInterface(), information.getDomainType()))));
+        }
+        return bean;
+    }
+}
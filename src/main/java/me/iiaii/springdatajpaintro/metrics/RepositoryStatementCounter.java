@@ -0,0 +1,22 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+
+/**
+ * 스레드별로 실행된 SQL 수 (RepositoryMetricsInterceptor 가 호출 전후 값의 차이로 메소드별 SQL 수를 구한다)
+ * SqlStatementScope 와 달리 SQL 문자열을 보관하지 않으므로 항상 켜 두어도 부담이 없다
+ */
+public class RepositoryStatementCounter extends JdbcEventListener {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void onBeforeAnyExecute(StatementInformation statementInformation) {
+        COUNT.get()[0]++;
+    }
+
+    static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,117 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * prepared statement 캐시 hit rate 시뮬레이션 (드라이버가 보고한 값이 아님)
+ * 드라이버 캐시 통계는 표준 API 가 없으므로 물리 커넥션마다 같은 크기의 LRU 를 두고 드라이버와 같은 판단을 흉내낸다
+ * (jdbc.statement-cache.size 를 드라이버 설정과 같게 맞춰야 의미가 있음)
+ * 실제 드라이버 값으로 오해하지 않도록 meter 이름은 jdbc.statement.cache.simulated.*
+ */
+public class StatementCacheListener extends JdbcEventListener implements MeterBinder {
+
+    private static final int MAX_UNWRAP_DEPTH = 5;
+
+    private final int cacheSize;
+    private final Map<Connection, Map<String, Boolean>> caches = Collections.synchronizedMap(new WeakHashMap<>());
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StatementCacheListener(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public void onBeforeAnyExecute(StatementInformation statementInformation) {
+        if (cacheSize <= 0 || !(statementInformation instanceof PreparedStatementInformation)) {
+            return;
+        }
+        Connection connection = physicalConnection(statementInformation.getConnectionInformation().getConnection());
+        Map<String, Boolean> cache = caches.computeIfAbsent(connection, c -> lru());
+        // 물리 커넥션은 한 번에 한 스레드만 사용하지만 풀 반납 직후 다른 스레드가 이어받을 수 있음
+        synchronized (cache) {
+            if (cache.get(statementInformation.getSql()) != null) {
+                hits.increment();
+            } else {
+                cache.put(statementInformation.getSql(), Boolean.TRUE);
+                misses.increment();
+            }
+        }
+    }
+
+    private Map<String, Boolean> lru() {
+        return new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // LazyConnectionDataSourceProxy / 커넥션 풀 프록시는 대여할 때마다 바뀌므로 실제 드라이버 커넥션을 키로 사용
+    private Connection physicalConnection(Connection connection) {
+        Connection current = connection;
+        for (int i = 0; i < MAX_UNWRAP_DEPTH; i++) {
+            Connection next = unwrap(current);
+            if (next == current) {
+                break;
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private Connection unwrap(Connection connection) {
+        if (connection instanceof ConnectionProxy) {
+            return ((ConnectionProxy) connection).getTargetConnection();
+        }
+        try {
+            return connection.isWrapperFor(Connection.class) ? connection.unwrap(Connection.class) : connection;
+        } catch (SQLException e) {
+            return connection;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0 : (double) getHits() / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jdbc.statement.cache.simulated.requests", hits, LongAdder::sum)
+                .description("Simulated prepared statement cache lookups (LRU model, not driver data)")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("jdbc.statement.cache.simulated.requests", misses, LongAdder::sum)
+                .description("Simulated prepared statement cache lookups (LRU model, not driver data)")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("jdbc.statement.cache.simulated.hit.ratio", this, StatementCacheListener::getHitRatio)
+                .description("Simulated prepared statement cache hit ratio (LRU model, not driver data)")
+                .register(registry);
+    }
+}
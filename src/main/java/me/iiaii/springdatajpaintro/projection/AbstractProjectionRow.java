@@ -0,0 +1,41 @@
+package me.iiaii.springdatajpaintro.projection;
+
+import java.util.Arrays;
+
+/**
+ * ProjectionType 이 생성하는 projection 구현 클래스의 부모
+ * 생성된 클래스의 getter 는 value(i) 를 호출해서 반환 타입으로 캐스트 / 언박싱만 한다 (리플렉션 / Map 조회 X)
+ */
+public abstract class AbstractProjectionRow {
+
+    private final Object[] values;
+
+    protected AbstractProjectionRow(Object[] values) {
+        this.values = values;
+    }
+
+    protected final Object value(int index) {
+        return values[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(values, ((AbstractProjectionRow) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getInterfaces()[0].getSimpleName() + Arrays.toString(values);
+    }
+}
@@ -0,0 +1,216 @@
+package me.iiaii.springdatajpaintro.projection;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.beans.Introspector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * closed 인터페이스 projection 의 구현 클래스를 ByteBuddy 로 한 번 생성해두고 행마다 그 인스턴스를 만든다
+ * 스프링 데이터의 projection 처럼 행마다 JDK 프록시 + Map 기반 메소드 디스패치를 하지 않는다
+ * - getter 는 속성 이름순으로 정렬되고, 중첩 인터페이스 getter (ex. TeamInfo getTeam()) 도 같은 방식으로 생성
+ * - getColumnPaths() 순서의 평평한 tuple (ex. [team.id, team.name, username]) 로부터 중첩 객체까지 조립
+ *   중첩 속성마다 연관 엔티티의 id 를 먼저 조회해서 id 가 null 일 때만 중첩 객체를 null 로 (말단 값이 모두 null 인 팀도 객체는 만든다)
+ */
+public final class ProjectionType<T> {
+
+    private static final ClassValue<ProjectionType<?>> TYPES = new ClassValue<ProjectionType<?>>() {
+        @Override
+        protected ProjectionType<?> computeValue(Class<?> type) {
+            Set<Class<?>> resolving = RESOLVING.get();
+            if (!resolving.add(type)) {
+                throw new IllegalArgumentException("recursive projection is not supported: " + type.getName());
+            }
+            try {
+                return new ProjectionType<>(type);
+            } finally {
+                resolving.remove(type);
+            }
+        }
+    };
+
+    // 중첩 타입을 만드는 중인 projection (자기 자신을 참조하는 인터페이스 감지)
+    private static final ThreadLocal<Set<Class<?>>> RESOLVING = ThreadLocal.withInitial(HashSet::new);
+
+    // 중첩 속성의 연관 엔티티가 있는지 판단하는 식별자 속성 (이 프로젝트의 엔티티는 모두 id)
+    private static final String ID = "id";
+
+    private static final Method VALUE;
+
+    static {
+        try {
+            VALUE = AbstractProjectionRow.class.getDeclaredMethod("value", int.class);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Getter
+    private final Class<T> type;
+    @Getter
+    private final List<Property> properties;
+    // 조회해야 하는 (중첩 속성은 '.' 으로 이은) 속성 경로, fromTuple 에 넘기는 값의 순서
+    @Getter
+    private final List<String> columnPaths;
+    private final int columnCount;
+    private final MethodHandle constructor;
+
+    @SuppressWarnings("unchecked")
+    public static <T> ProjectionType<T> of(Class<T> type) {
+        return (ProjectionType<T>) TYPES.get(type);
+    }
+
+    private ProjectionType(Class<T> type) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException(type.getName() + " is not an interface");
+        }
+        this.type = type;
+        this.properties = Collections.unmodifiableList(properties(type));
+
+        List<String> paths = new ArrayList<>();
+        for (Property property : properties) {
+            if (property.nested == null) {
+                paths.add(property.name);
+            } else {
+                paths.add(property.name + "." + ID);
+                property.nested.columnPaths.forEach(path -> paths.add(property.name + "." + path));
+            }
+        }
+        this.columnPaths = Collections.unmodifiableList(paths);
+        this.columnCount = paths.size();
+        this.constructor = generate();
+    }
+
+    // 평평한 tuple -> projection (중첩 속성의 id 가 null 이면 중첩 객체도 null, left join 에서 연관 엔티티가 없는 경우)
+    public T fromTuple(Object[] tuple) {
+        return fromTuple(tuple, 0);
+    }
+
+    private T fromTuple(Object[] tuple, int offset) {
+        Object[] values = new Object[properties.size()];
+        int column = offset;
+        for (int i = 0; i < values.length; i++) {
+            Property property = properties.get(i);
+            if (property.nested == null) {
+                values[i] = tuple[column++];
+            } else {
+                Object id = tuple[column++];
+                values[i] = id == null ? null : property.nested.fromTuple(tuple, column);
+                column += property.nested.columnCount;
+            }
+        }
+        return fromValues(values);
+    }
+
+    // getProperties() 순서의 값 (중첩 속성 자리에는 이미 만든 중첩 projection) -> projection
+    @SuppressWarnings("unchecked")
+    public T fromValues(Object[] values) {
+        try {
+            return (T) (Object) constructor.invokeExact(values);
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot instantiate projection " + type.getName(), e);
+        }
+    }
+
+    private MethodHandle generate() {
+        DynamicType.Builder<AbstractProjectionRow> builder = new ByteBuddy()
+                .subclass(AbstractProjectionRow.class, ConstructorStrategy.Default.IMITATE_SUPER_CLASS_PUBLIC)
+                .implement(type)
+                .name(type.getName() + "$GeneratedRow");
+        for (int i = 0; i < properties.size(); i++) {
+            builder = builder.method(ElementMatchers.is(properties.get(i).getter))
+                    .intercept(MethodCall.invoke(VALUE).with(i)
+                            .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+        }
+        Class<?> generated = builder.make()
+                .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(generated, MethodType.methodType(void.class, Object[].class))
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot find constructor of " + generated.getName(), e);
+        }
+    }
+
+    private static List<Property> properties(Class<?> type) {
+        List<Property> properties = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+                throw new IllegalArgumentException("not a getter: " + method);
+            }
+            if (method.isAnnotationPresent(Value.class)) {
+                throw new IllegalArgumentException("open projection (@Value) is not supported: " + method);
+            }
+            properties.add(new Property(propertyName(method), method, nestedType(method)));
+        }
+        properties.sort(Comparator.comparing(Property::getName));
+        return properties;
+    }
+
+    private static String propertyName(Method getter) {
+        String name = getter.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return Introspector.decapitalize(name.substring(3));
+        }
+        if (name.startsWith("is") && name.length() > 2
+                && (getter.getReturnType() == boolean.class || getter.getReturnType() == Boolean.class)) {
+            return Introspector.decapitalize(name.substring(2));
+        }
+        throw new IllegalArgumentException("not a getter: " + getter);
+    }
+
+    private static ProjectionType<?> nestedType(Method getter) {
+        Class<?> returnType = getter.getReturnType();
+        if (Collection.class.isAssignableFrom(returnType) || Map.class.isAssignableFrom(returnType)) {
+            throw new IllegalArgumentException("collection projection is not supported: " + getter);
+        }
+        if (!returnType.isInterface() || returnType.getName().startsWith("java.")) {
+            return null;
+        }
+        return of(returnType);
+    }
+
+    @Getter
+    public static final class Property {
+
+        private final String name;
+        private final Class<?> type;
+        // 중첩 projection 속성이면 그 타입, 아니면 null
+        private final ProjectionType<?> nested;
+        @Getter(AccessLevel.NONE)
+        private final Method getter;
+
+        private Property(String name, Method getter, ProjectionType<?> nested) {
+            this.name = name;
+            this.type = getter.getReturnType();
+            this.nested = nested;
+            this.getter = getter;
+        }
+    }
+}
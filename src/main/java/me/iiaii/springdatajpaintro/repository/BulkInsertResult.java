@@ -0,0 +1,24 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+@Getter
+@ToString
+public class BulkInsertResult {
+
+    private final long rows;
+    private final Duration elapsed;
+
+    public BulkInsertResult(long rows, Duration elapsed) {
+        this.rows = rows;
+        this.elapsed = elapsed;
+    }
+
+    public double getRowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : rows * 1_000_000_000d / nanos;
+    }
+}
@@ -0,0 +1,23 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+@ToString
+public class BulkUpdateResult {
+
+    // 청크별 수정된 행 수 (청크마다 별도 트랜잭션일 수 있음)
+    private final List<Integer> chunkCounts;
+
+    public BulkUpdateResult(List<Integer> chunkCounts) {
+        this.chunkCounts = Collections.unmodifiableList(chunkCounts);
+    }
+
+    public int getTotalCount() {
+        return chunkCounts.stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,16 @@
+package me.iiaii.springdatajpaintro.repository;
+
+/**
+ * 페이징 시 total count 를 구하는 방식
+ */
+public enum CountMode {
+
+    // 정확한 count (기존 Page 와 같은 결과), 앞 페이지가 있으면 컨텐츠 쿼리와 동시에 실행하고 마지막 페이지면 생략
+    EXACT,
+
+    // getTotalElements() 를 호출할 때 한 번만 count 쿼리 실행
+    LAZY,
+
+    // 주기적으로 갱신되는 조건별 count 캐시 값 사용 (정확하지 않을 수 있음)
+    ESTIMATED
+}
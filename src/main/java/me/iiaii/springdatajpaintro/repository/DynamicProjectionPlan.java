@@ -0,0 +1,127 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.Getter;
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.projection.ProjectionType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * findDynamicProjectionsByUsername 의 결과 타입별 실행 계획 (JPQL, 조회 컬럼, 행 매퍼)
+ * 타입마다 처음 한 번만 만들고 ClassValue 에 캐시 -> 두 번째 호출부터는 정적으로 선언한 projection 메소드와 같은 비용
+ * - Member: 엔티티 조회
+ * - 클래스 (DTO): 생성자 파라미터 이름으로 select new 생성자 표현식
+ * - 인터페이스: projection 속성만 tuple 로 조회해서 ProjectionType 이 생성한 구현 클래스에 채움
+ *   중첩 인터페이스 속성도 연관 엔티티 전체가 아니라 id 와 말단 컬럼만 left join 으로 평평하게 조회하고 메모리에서 조립
+ *   (연관 엔티티 id 가 null 일 때만 연관 엔티티가 없는 것으로 보고 null)
+ */
+final class DynamicProjectionPlan<T> {
+
+    private static final String FROM = " from Member m";
+    private static final String WHERE = " where m.username = :username";
+
+    private static final ClassValue<DynamicProjectionPlan<?>> PLANS = new ClassValue<DynamicProjectionPlan<?>>() {
+        @Override
+        protected DynamicProjectionPlan<?> computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    @Getter
+    private final String jpql;
+    private final Class<?> resultType;
+    private final Function<Object, T> rowMapper; // null 이면 쿼리 결과를 그대로 반환
+
+    private DynamicProjectionPlan(String jpql, Class<?> resultType, Function<Object, T> rowMapper) {
+        this.jpql = jpql;
+        this.resultType = resultType;
+        this.rowMapper = rowMapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> DynamicProjectionPlan<T> of(Class<T> type) {
+        return (DynamicProjectionPlan<T>) PLANS.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<T> execute(EntityManager em, String username) {
+        List<?> rows = em.createQuery(jpql, resultType)
+                .setParameter("username", username)
+                .getResultList();
+        if (rowMapper == null) {
+            return (List<T>) rows;
+        }
+        List<T> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            result.add(rowMapper.apply(row));
+        }
+        return result;
+    }
+
+    private static <T> DynamicProjectionPlan<T> create(Class<T> type) {
+        if (type == Member.class) {
+            return new DynamicProjectionPlan<>("select m" + FROM + WHERE, Member.class, null);
+        }
+        if (type.isInterface()) {
+            return forInterface(ProjectionType.of(type));
+        }
+        return forClass(type);
+    }
+
+    private static <T> DynamicProjectionPlan<T> forClass(Class<T> type) {
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length != 1) {
+            throw new IllegalArgumentException(type.getName() + " must have exactly one public constructor");
+        }
+        List<String> columns = new ArrayList<>();
+        for (Parameter parameter : constructors[0].getParameters()) {
+            if (!parameter.isNamePresent()) {
+                throw new IllegalArgumentException("constructor parameter names of " + type.getName()
+                        + " are not available (compile with -parameters)");
+            }
+            columns.add("m." + parameter.getName());
+        }
+        String jpql = "select new " + type.getName() + columns.stream().collect(Collectors.joining(", ", "(", ")"))
+                + FROM + WHERE;
+        return new DynamicProjectionPlan<>(jpql, type, null);
+    }
+
+    private static <T> DynamicProjectionPlan<T> forInterface(ProjectionType<T> type) {
+        List<String> paths = type.getColumnPaths();
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException(type.getType().getName() + " has no properties");
+        }
+        // 중첩 속성 경로 (ex. team) 마다 left join 별칭 하나, 조회는 연관 엔티티 id 와 말단 컬럼 (ex. j0.id, j0.name) 만
+        Map<String, String> aliases = new HashMap<>();
+        StringBuilder joins = new StringBuilder();
+        List<String> columns = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            String owner = "m";
+            int start = 0;
+            int dot;
+            while ((dot = path.indexOf('.', start)) >= 0) {
+                String association = path.substring(0, dot);
+                String parent = owner;
+                String property = path.substring(start, dot);
+                owner = aliases.computeIfAbsent(association, key -> {
+                    String alias = "j" + aliases.size();
+                    joins.append(" left join ").append(parent).append('.').append(property).append(' ').append(alias);
+                    return alias;
+                });
+                start = dot + 1;
+            }
+            columns.add(owner + "." + path.substring(start));
+        }
+        String jpql = "select " + String.join(", ", columns) + FROM + joins + WHERE;
+        return new DynamicProjectionPlan<>(jpql, Tuple.class, row -> type.fromTuple(((Tuple) row).toArray()));
+    }
+}
@@ -0,0 +1,17 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import java.util.stream.Stream;
+
+/**
+ * 식별자를 직접 할당하는 엔티티의 저장 fragment (ex. ItemRepository)
+ * SimpleJpaRepository.save 는 isNew() 가 false 면 merge -> INSERT 전에 SELECT 가 한 번 더 나간다
+ * 새 엔티티인 것을 호출하는 쪽이 알고 있으면 merge 판단 없이 바로 persist
+ */
+public interface InsertOnlyRepository<T> {
+
+    // 같은 id 가 이미 있으면 flush 시점에 제약조건 위반 예외
+    <S extends T> S insert(S entity);
+
+    // batchSize 단위로 jdbc batch insert 후 flush/clear
+    BulkInsertResult insertAll(Stream<? extends T> entities, int batchSize);
+}
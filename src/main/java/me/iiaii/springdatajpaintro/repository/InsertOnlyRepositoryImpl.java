@@ -0,0 +1,61 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@RequiredArgsConstructor
+public class InsertOnlyRepositoryImpl<T> implements InsertOnlyRepository<T> {
+
+    private final EntityManager em;
+
+    @Override
+    @Transactional
+    public <S extends T> S insert(S entity) {
+        em.persist(entity);
+        return entity;
+    }
+
+    /**
+     * 호출한 쪽 트랜잭션의 영속성 컨텍스트도 clear 되므로, 그 전에 로딩한 엔티티는 준영속 상태가 된다
+     */
+    @Override
+    @Transactional
+    public BulkInsertResult insertAll(Stream<? extends T> entities, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        Session session = em.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+
+        long start = System.nanoTime();
+        long rows = 0;
+        try (Stream<? extends T> stream = entities) {
+            Iterator<? extends T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                em.persist(iterator.next());
+                if (++rows % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.flush();
+            em.clear();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+
+        BulkInsertResult result = new BulkInsertResult(rows, Duration.ofNanos(System.nanoTime() - start));
+        log.info("insertAll rows={} elapsed={}ms rows/s={}",
+                rows, result.getElapsed().toMillis(), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+}
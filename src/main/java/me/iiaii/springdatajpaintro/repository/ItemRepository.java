@@ -3,5 +3,5 @@ package me.iiaii.springdatajpaintro.repository;
 import me.iiaii.springdatajpaintro.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, String>, InsertOnlyRepository<Item>, ItemRepositoryCustom {
 }
@@ -0,0 +1,9 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+
+    // 이미 있는 id 는 건너뛰고 없는 것만 insert (SELECT 없이 한 문장), 새로 insert 된 행 수 반환
+    int insertIfAbsent(Collection<String> ids, int batchSize);
+}
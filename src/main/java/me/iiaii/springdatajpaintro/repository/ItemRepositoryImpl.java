@@ -0,0 +1,70 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.RequiredArgsConstructor;
+import me.iiaii.springdatajpaintro.audit.AuditClock;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    // H2 MERGE ... USING, 키가 겹치면 아무것도 하지 않으므로 created_date 는 처음 값 유지
+    // (MySQL: insert ... on duplicate key update id = id, PostgreSQL: insert ... on conflict do nothing)
+    private static final String INSERT_IF_ABSENT = "merge into item i" +
+            " using (select cast(? as varchar) id, cast(? as timestamp) created_date) s on (i.id = s.id)" +
+            " when not matched then insert (id, created_date) values (s.id, s.created_date)";
+
+    private final EntityManager em;
+
+    /**
+     * 네이티브 문장이라 AuditingEntityListener 를 거치지 않으므로 created_date 는 직접 채운다
+     * 영속성 컨텍스트에 이미 올라온 Item 과는 동기화되지 않는다
+     */
+    @Override
+    @Transactional
+    public int insertIfAbsent(Collection<String> ids, int batchSize) {
+        // 0 이하면 전체가 크기 제한 없는 batch 하나가 되므로 거부
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        em.flush();
+        Timestamp now = Timestamp.valueOf(AuditClock.now());
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            int inserted = 0;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_IF_ABSENT)) {
+                int pending = 0;
+                for (String id : ids) {
+                    statement.setString(1, id);
+                    statement.setTimestamp(2, now);
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        inserted += sum(statement.executeBatch());
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    inserted += sum(statement.executeBatch());
+                }
+            }
+            return inserted;
+        });
+    }
+
+    private static int sum(int[] counts) {
+        int sum = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                sum += count;
+            } else if (count == Statement.EXECUTE_FAILED) {
+                throw new IllegalStateException("item insertIfAbsent batch failed");
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,55 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import me.iiaii.springdatajpaintro.entity.Member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset(seek) 페이징의 마지막 위치 (username desc, member_id asc)
+ * 클라이언트에게는 encode() 한 불투명 토큰으로만 노출한다
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class KeysetCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final String username;
+    private final Long id;
+
+    public KeysetCursor(String username, Long id) {
+        this.username = username;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(Member member) {
+        return new KeysetCursor(member.getUsername(), member.getId());
+    }
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + username;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 빈 토큰은 첫 페이지(null) 로 취급
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(raw.substring(idx + 1), Long.valueOf(raw.substring(0, idx)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("invalid keyset cursor: " + token, e);
+        }
+    }
+}
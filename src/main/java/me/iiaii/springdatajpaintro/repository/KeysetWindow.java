@@ -0,0 +1,38 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * keyset 페이징 결과
+ * offset 이 없으므로 몇 번째 페이지든 같은 비용으로 조회된다 (대신 total count, 임의 페이지 이동은 없음)
+ */
+@Getter
+public class KeysetWindow<T> {
+
+    private final List<T> content;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public KeysetWindow(List<T> content, boolean hasNext, KeysetCursor last) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.nextCursor = hasNext && last != null ? last.encode() : null;
+    }
+
+    private KeysetWindow(List<T> content, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public <U> KeysetWindow<U> map(Function<? super T, ? extends U> converter) {
+        List<U> converted = content.stream()
+                .map(converter)
+                .collect(Collectors.toList());
+        return new KeysetWindow<>(converted, hasNext, nextCursor);
+    }
+}
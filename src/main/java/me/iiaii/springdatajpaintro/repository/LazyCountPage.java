@@ -0,0 +1,72 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * total count 를 실제로 물어볼 때까지 count 쿼리를 미루는 Page
+ * 다음 페이지 여부는 size + 1 건 조회로 판단하므로 Slice 처럼 count 없이 동작한다
+ * (json 응답에는 total 을 포함하지 않는다 -> 필요한 클라이언트는 count=EXACT 로 요청)
+ */
+public class LazyCountPage<T> extends SliceImpl<T> implements Page<T> {
+
+    private final LongSupplier total;
+
+    public LazyCountPage(List<T> content, Pageable pageable, boolean hasNext, LongSupplier countQuery) {
+        super(content, pageable, hasNext);
+        this.total = memoize(content, pageable, hasNext, countQuery);
+    }
+
+    @JsonIgnore
+    @Override
+    public int getTotalPages() {
+        return getSize() == 0 ? 1 : (int) Math.ceil((double) getTotalElements() / (double) getSize());
+    }
+
+    @JsonIgnore
+    @Override
+    public long getTotalElements() {
+        return total.getAsLong();
+    }
+
+    @Override
+    public <U> Page<U> map(Function<? super T, ? extends U> converter) {
+        List<U> converted = getContent().stream()
+                .map(converter)
+                .collect(Collectors.toList());
+        // 변환된 페이지도 같은 count 결과를 공유
+        return new LazyCountPage<>(converted, getPageable(), hasNext(), total);
+    }
+
+    // 마지막 페이지면 count 쿼리 없이 계산, 아니면 최초 호출 시 한 번만 실행
+    private static LongSupplier memoize(List<?> content, Pageable pageable, boolean hasNext, LongSupplier countQuery) {
+        if (!hasNext && (pageable.isUnpaged() || !content.isEmpty() || pageable.getOffset() == 0)) {
+            long total = pageable.isUnpaged() ? content.size() : pageable.getOffset() + content.size();
+            return () -> total;
+        }
+        return new LongSupplier() {
+            private volatile Long value;
+
+            @Override
+            public long getAsLong() {
+                Long result = value;
+                if (result == null) {
+                    synchronized (this) {
+                        result = value;
+                        if (result == null) {
+                            result = value = countQuery.getAsLong();
+                        }
+                    }
+                }
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 페이징 count 쿼리 실행기
+ * - 컨텐츠 쿼리와 동시에 실행하는 비동기 count (앞 페이지가 있는 경우)
+ * - 조건(predicate)별로 캐시해두고 주기적으로 갱신하는 추정 count
+ */
+@Slf4j
+@Component
+public class MemberCountCache {
+
+    private final Map<String, Entry> estimates = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final int maxEntries;
+
+    public MemberCountCache(@Value("${member.count.threads:2}") int threads,
+                            @Value("${member.count.max-entries:1000}") int maxEntries) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "member-count-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxEntries = maxEntries;
+    }
+
+    public CompletableFuture<Long> countAsync(LongSupplier countQuery) {
+        return CompletableFuture.supplyAsync(countQuery::getAsLong, executor);
+    }
+
+    /**
+     * 캐시에 없으면 한 번 동기로 계산하고, 이후에는 refresh() 주기마다 갱신된 값을 돌려준다
+     */
+    public long estimate(String key, LongSupplier countQuery) {
+        Entry entry = estimates.get(key);
+        if (entry != null) {
+            return entry.value;
+        }
+        long value = countQuery.getAsLong();
+        if (estimates.size() < maxEntries) {
+            estimates.putIfAbsent(key, new Entry(countQuery, value));
+        }
+        return value;
+    }
+
+    public void evictAll() {
+        estimates.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${member.count.refresh-interval:60000}")
+    public void refresh() {
+        estimates.forEach((key, entry) -> {
+            try {
+                entry.value = entry.countQuery.getAsLong();
+            } catch (RuntimeException e) {
+                log.warn("count refresh failed. key={}", key, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static class Entry {
+
+        private final LongSupplier countQuery;
+        private volatile long value;
+
+        Entry(LongSupplier countQuery, long value) {
+            this.countQuery = countQuery;
+            this.value = value;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package me.iiaii.springdatajpaintro.repository;
 
+import lombok.RequiredArgsConstructor;
+import me.iiaii.springdatajpaintro.cache.MemberDtoCache;
 import me.iiaii.springdatajpaintro.entity.Member;
 import org.springframework.stereotype.Repository;
 
@@ -7,13 +9,18 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final MemberDtoCache memberDtoCache;
+
     public Member save(Member member) {
         em.persist(member);
         return member;
@@ -23,11 +30,32 @@ public class MemberJpaRepository {
         em.remove(member);
     }
 
+    // 전체를 List 로 로딩 (행 수만큼 힙 사용), 대량 조회는 streamAll
     public List<Member> findAll() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
 
+    /**
+     * 전체 조회를 List 대신 forward-only 스트림으로 (트랜잭션 안에서 사용하고 반드시 close 해야 함)
+     * fetchSize 건마다 영속성 컨텍스트를 비워서 이미 처리한 엔티티를 준영속으로 만든다
+     */
+    public Stream<Member> streamAll(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive: " + fetchSize);
+        }
+        AtomicLong count = new AtomicLong();
+        return em.createQuery("select m from Member m left join fetch m.team", Member.class)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()
+                .peek(member -> {
+                    if (count.incrementAndGet() % fetchSize == 0) {
+                        em.clear();
+                    }
+                });
+    }
+
     public Optional<Member> findById(Long id) {
         Member member = em.find(Member.class, id);
         return Optional.ofNullable(member);
@@ -64,9 +92,16 @@ public class MemberJpaRepository {
     }
 
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m set m.age = m.age + 1" +
-                "where m.age >= :age")
+        // 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 이미 로딩된 대상 회원은 다시 읽어준다
+        List<Member> stale = PersistenceContexts.findManaged(em, Member.class, m -> m.getAge() >= age);
+
+        int count = em.createQuery("update versioned Member m set m.age = m.age + 1" +
+                " where m.age >= :age")
                 .setParameter("age", age)
                 .executeUpdate();
+
+        PersistenceContexts.refresh(em, stale);
+        memberDtoCache.invalidateAllAfterCompletion();
+        return count;
     }
 }
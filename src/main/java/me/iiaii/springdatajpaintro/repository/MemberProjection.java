@@ -6,5 +6,5 @@ public interface MemberProjection {
 
     String getUsername();
 
-    String getTeamname();
+    String getTeamName();
 }
@@ -0,0 +1,31 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 네이티브 쿼리 결과 행(Object[])을 그대로 담는 MemberProjection 구현
+ * 스프링 데이터의 인터페이스 projection 처럼 행마다 프록시 / Map 을 만들지 않는다
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class MemberProjectionRow implements MemberProjection {
+
+    private final Long id;
+    private final String username;
+    private final String teamName;
+
+    public MemberProjectionRow(Long id, String username, String teamName) {
+        this.id = id;
+        this.username = username;
+        this.teamName = teamName;
+    }
+
+    // select 순서: member_id, username, team name
+    static MemberProjectionRow of(Object[] row) {
+        return new MemberProjectionRow(row[0] == null ? null : ((Number) row[0]).longValue(),
+                (String) row[1], (String) row[2]);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
@@ -19,6 +20,8 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
     List<Member> findTop3HelloBy();
 
+    // 쿼리 캐시 (Member 벌크 연산 시 hibernate 가 자동으로 무효화)
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Member> findByUsername(@Param("username") String username);
 
     @Query("select m from Member m where m.username = :username and m.age = :age")
@@ -30,23 +33,24 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select new me.iiaii.springdatajpaintro.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
-    @Query("select m from Member m where m.username in :names")
-    List<Member> findByNames(@Param("names") List<String> names);
+    // 엔티티를 영속성 컨텍스트에 올리지 않고 DTO 로 바로 조회 (MemberDtoCache 로더)
+    @Query("select new me.iiaii.springdatajpaintro.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t where m.id = :id")
+    Optional<MemberDto> findMemberDtoById(@Param("id") Long id);
 
     List<Member> findListByUsername(String username); // 컬렉션
 
     Member findMemberByUsername(String username); // 단건
 
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Member> findOptionalByUsername(String username); // 단건 O
 
     Page<Member> findByAge(int age, Pageable pageable);
 
-    @Query(value = "select m from Member m left join m.team t", countQuery = "select count(m) from Member m")
-    Slice<Member> findByUsername(String username, Pageable pageable);
+    Slice<Member> findSliceByAge(int age, Pageable pageable); // count 쿼리 X
 
-    @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
+    @Query(value = "select m from Member m left join m.team t where m.username = :username",
+            countQuery = "select count(m) from Member m where m.username = :username")
+    Slice<Member> findByUsername(@Param("username") String username, Pageable pageable);
 
     //    @EntityGraph(attributePaths = {"team"}) // 페치 조인 쿼리 없이도 페치 조
     @Query("select m from Member m left join fetch m.team t")
@@ -56,26 +60,21 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @EntityGraph(attributePaths = {"team"})
     List<Member> findAll();
 
+    // 트랜잭션 밖에서 호출하면 readOnly 트랜잭션 -> 라우팅 사용 시 replica 로 조회
+    @Transactional(readOnly = true)
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
-    List<UsernameOnly> findProjectionsByUsername(@Param("username") String username);
+    // 락 없이 조회하고 커밋 시 @Version 으로 충돌 검사 (OptimisticRetryExecutor 와 함께 사용)
+    @Lock(LockModeType.OPTIMISTIC)
+    List<Member> findOptimisticByUsername(String username);
 
     List<UsernameOnlyDto> findProjections2ByUsername(@Param("username") String username);
 
-    // 동적 projection
-    <T> List<T> findDynamicProjectionsByUsername(@Param("username") String username, Class<T> type);
-
     // 반환 타입이나, 모든 필드를 적어야 해서 안쓰는게 좋다
     @Query(value = "select * from member where username = ?", nativeQuery = true)
     Member findByNativeQuery(String username);
-
-    // query dsl 사용하여 해결하는 것도 가능
-    @Query(value = "select m.member_id as id, m.username, t.name as teamName" +
-            "from member m left join team t",
-    countQuery = "select count(*) from member", nativeQuery = true)
-    Page<MemberProjection> findByNativeProjection(Pageable pageable);
 }
@@ -1,10 +1,53 @@
 package me.iiaii.springdatajpaintro.repository;
 
+import me.iiaii.springdatajpaintro.dto.MemberDto;
 import me.iiaii.springdatajpaintro.entity.Member;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
 
+    // 커스텀 리포지토리 예제라 전체를 List 로 로딩 (행 수만큼 힙 사용), 대량 조회는 streamAll
     List<Member> findMemberCustom();
+
+    // keyset 페이징 (username desc, member_id asc), after 가 null 이면 첫 페이지
+    KeysetWindow<Member> findByAge(int age, KeysetCursor after, int size);
+
+    KeysetWindow<Member> findAll(KeysetCursor after, int size);
+
+    // total count 계산 방식을 선택하는 페이징
+    Page<Member> findAll(Pageable pageable, CountMode countMode);
+
+    Page<Member> findByAge(int age, Pageable pageable, CountMode countMode);
+
+    // id, username, team name 만 DTO 로 바로 조회하는 페이징 (count 는 조인 없이)
+    Page<MemberDto> findMemberDtoPage(Pageable pageable, CountMode countMode);
+
+    // 네이티브 쿼리 결과를 MemberProjectionRow 로 직접 매핑 (정렬은 id, username, age, teamName 만 가능)
+    Page<MemberProjection> findByNativeProjection(Pageable pageable);
+
+    // 인터페이스 projection 을 프록시 대신 미리 생성한 구현 클래스로 (ProjectionType)
+    List<UsernameOnly> findProjectionsByUsername(String username);
+
+    // 동적 projection (Member, DTO 클래스, 인터페이스), 타입별 실행 계획은 한 번만 만든다
+    <T> List<T> findDynamicProjectionsByUsername(String username, Class<T> type);
+
+    // username in (...) 조회, 큰 목록은 여러 IN 절로 나누거나 (1만 건 이상) primary 쓰기 트랜잭션에서 임시 테이블과 조인
+    List<Member> findByNames(Collection<String> names);
+
+    // batchSize 단위로 jdbc batch insert 후 flush/clear (영속성 컨텍스트가 커지지 않음)
+    BulkInsertResult saveAllBatched(Stream<Member> members, int batchSize);
+
+    // 벌크 연산 후 영속성 컨텍스트 전체를 비우지 않고, 로딩되어 있던 대상 회원만 다시 읽는다
+    int bulkAgePlus(int age);
+
+    // member_id 구간을 chunkSize 씩 나눠서 청크마다 새 트랜잭션으로 수정/커밋 (락 유지 시간 짧음), 트랜잭션 안에서 호출하면 IllegalStateException
+    BulkUpdateResult bulkAgePlus(int age, int chunkSize);
+
+    // 전체 조회를 List 대신 forward-only 스크롤로 (트랜잭션 안에서 사용하고 반드시 close 해야 함)
+    Stream<Member> streamAll(int fetchSize);
 }
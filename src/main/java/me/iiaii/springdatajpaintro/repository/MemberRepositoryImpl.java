@@ -1,19 +1,469 @@
 package me.iiaii.springdatajpaintro.repository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.iiaii.springdatajpaintro.cache.MemberDtoCache;
+import me.iiaii.springdatajpaintro.dto.MemberDto;
 import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.entity.Team;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+@Slf4j
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    private static final Map<String, String> NATIVE_PROJECTION_COLUMNS = Map.of(
+            "id", "m.member_id",
+            "username", "m.username",
+            "age", "m.age",
+            "teamName", "t.name");
+
+    // IN 절 하나에 넣는 최대 이름 수 (in_clause_parameter_padding 으로 2 의 거듭제곱까지 채워지므로 2 의 거듭제곱)
+    private static final int IN_CLAUSE_CHUNK_SIZE = 512;
+    // 이름이 이 이상이면 IN 절 여러 개 대신 임시 테이블에 넣고 조인
+    private static final int NAME_FILTER_TABLE_THRESHOLD = 10_000;
+
     private final EntityManager em;
+    private final MemberCountCache countCache;
+    private final PlatformTransactionManager transactionManager;
+    private final MemberDtoCache memberDtoCache;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m")
                 .getResultList();
     }
+
+    @Override
+    public KeysetWindow<Member> findByAge(int age, KeysetCursor after, int size) {
+        return findByKeyset(age, after, size);
+    }
+
+    @Override
+    public KeysetWindow<Member> findAll(KeysetCursor after, int size) {
+        return findByKeyset(null, after, size);
+    }
+
+    // offset 대신 마지막 (username, id) 이후부터 seek -> 앞 페이지를 읽고 버리지 않는다
+    private KeysetWindow<Member> findByKeyset(Integer age, KeysetCursor after, int size) {
+        StringBuilder jpql = new StringBuilder("select m from Member m where 1 = 1");
+        if (age != null) {
+            jpql.append(" and m.age = :age");
+        }
+        if (after != null) {
+            jpql.append(" and (m.username < :username or (m.username = :username and m.id > :id))");
+        }
+        jpql.append(" order by m.username desc, m.id asc");
+
+        TypedQuery<Member> query = em.createQuery(jpql.toString(), Member.class);
+        if (age != null) {
+            query.setParameter("age", age);
+        }
+        if (after != null) {
+            query.setParameter("username", after.getUsername());
+            query.setParameter("id", after.getId());
+        }
+
+        // 한 건 더 읽어서 다음 페이지 존재 여부 판단 (count 쿼리 X)
+        List<Member> result = query.setMaxResults(size + 1).getResultList();
+        boolean hasNext = result.size() > size;
+        List<Member> content = hasNext ? result.subList(0, size) : result;
+        KeysetCursor last = content.isEmpty() ? null : KeysetCursor.of(content.get(content.size() - 1));
+        return new KeysetWindow<>(content, hasNext, last);
+    }
+
+    @Override
+    public Page<Member> findAll(Pageable pageable, CountMode countMode) {
+        return findPage(null, pageable, countMode, this::pageQuery);
+    }
+
+    @Override
+    public Page<Member> findByAge(int age, Pageable pageable, CountMode countMode) {
+        return findPage(age, pageable, countMode, this::pageQuery);
+    }
+
+    @Override
+    public Page<MemberDto> findMemberDtoPage(Pageable pageable, CountMode countMode) {
+        return findPage(null, pageable, countMode, this::memberDtoPageQuery);
+    }
+
+    private <T> Page<T> findPage(Integer age, Pageable pageable, CountMode countMode,
+                                 BiFunction<Integer, Pageable, TypedQuery<T>> pageQuery) {
+        LongSupplier countQuery = () -> count(age);
+        if (pageable.isUnpaged()) {
+            List<T> all = pageQuery.apply(age, pageable).getResultList();
+            return new PageImpl<>(all, pageable, all.size());
+        }
+
+        // 첫 페이지는 다음 페이지가 있을 때만 count 가 필요하므로 컨텐츠 조회 후에 판단
+        // 앞 페이지가 있으면 마지막 페이지가 아닌 한 필요하므로 컨텐츠 쿼리와 동시에 시작
+        // 쓰기 트랜잭션 안에서는 flush 되지 않은 변경이 다른 커넥션에 보이지 않으므로 동시 실행하지 않음
+        CompletableFuture<Long> exactCount = countMode == CountMode.EXACT && pageable.getOffset() > 0 && !hasPendingWrites()
+                ? countAsync(countQuery)
+                : null;
+
+        // size + 1 건을 읽어서 count 없이도 다음 페이지 여부를 알 수 있게 함
+        int size = pageable.getPageSize();
+        List<T> result = pageQuery.apply(age, pageable)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = result.size() > size;
+        List<T> content = hasNext ? result.subList(0, size) : result;
+
+        if (countMode == CountMode.LAZY) {
+            return new LazyCountPage<>(content, pageable, hasNext, countQuery);
+        }
+
+        long known = pageable.getOffset() + content.size();
+        if (!hasNext && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            if (exactCount != null) {
+                exactCount.cancel(false); // 아직 실행 전이면 count 쿼리를 실행하지 않음
+            }
+            return new PageImpl<>(content, pageable, known);
+        }
+
+        long total;
+        if (countMode == CountMode.ESTIMATED) {
+            // 캐시된 값이 오래되어 현재 페이지보다 작으면 최소한 다음 페이지가 있다고 보이게 보정
+            String key = age == null ? "all" : "age=" + age;
+            total = Math.max(countCache.estimate(key, countQuery), hasNext ? known + 1 : known);
+        } else {
+            total = exactCount != null ? exactCount.join() : countQuery.getAsLong();
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // 다른 스레드에서 실행되므로 호출한 쪽이 readOnly 트랜잭션이면 count 도 readOnly 트랜잭션으로 (replica 라우팅)
+    private CompletableFuture<Long> countAsync(LongSupplier countQuery) {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return countCache.countAsync(countQuery);
+        }
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return countCache.countAsync(() -> readOnly.execute(status -> countQuery.getAsLong()));
+    }
+
+    private TypedQuery<Member> pageQuery(Integer age, Pageable pageable) {
+        String jpql = "select m from Member m" + (age != null ? " where m.age = :age" : "");
+        TypedQuery<Member> query = em.createQuery(QueryUtils.applySorting(jpql, pageable.getSort(), "m"), Member.class);
+        if (age != null) {
+            query.setParameter("age", age);
+        }
+        return query;
+    }
+
+    // 엔티티를 만들지 않고 필요한 컬럼만 DTO 로 (영속성 컨텍스트 / 스냅샷 X), 정렬은 Member 속성 기준
+    private TypedQuery<MemberDto> memberDtoPageQuery(Integer age, Pageable pageable) {
+        String jpql = "select new me.iiaii.springdatajpaintro.dto.MemberDto(m.id, m.username, t.name)" +
+                " from Member m left join m.team t" + (age != null ? " where m.age = :age" : "");
+        TypedQuery<MemberDto> query = em.createQuery(QueryUtils.applySorting(jpql, pageable.getSort(), "m"), MemberDto.class);
+        if (age != null) {
+            query.setParameter("age", age);
+        }
+        return query;
+    }
+
+    /**
+     * @Query(nativeQuery = true) 의 인터페이스 projection 은 행마다 프록시와 TupleBackedMap 을 만든다
+     * 여기서는 Object[] 행을 MemberProjectionRow 로 바로 옮기고, count 는 필요할 때만 (마지막 페이지면 생략)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<MemberProjection> findByNativeProjection(Pageable pageable) {
+        String sql = "select m.member_id, m.username, t.name" +
+                " from member m left join team t on m.team_id = t.team_id" +
+                nativeOrderBy(pageable.getSort());
+        Query query = em.createNativeQuery(sql);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        List<Object[]> rows = query.getResultList();
+        List<MemberProjection> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            content.add(MemberProjectionRow.of(row));
+        }
+        // left join 이므로 member 건수 = 결과 행 수
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> ((Number) em.createNativeQuery("select count(*) from member").getSingleResult()).longValue());
+    }
+
+    // 정렬 속성을 컬럼으로 바꿀 때 화이트리스트만 허용 (SQL 에 그대로 붙으므로), 정렬이 없으면 member_id 순
+    private String nativeOrderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " order by m.member_id";
+        }
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : sort) {
+            String column = NATIVE_PROJECTION_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("unsupported sort property: " + order.getProperty());
+            }
+            orderBy.append(orderBy.length() == 0 ? " order by " : ", ")
+                    .append(column)
+                    .append(order.isAscending() ? " asc" : " desc");
+        }
+        return orderBy.toString();
+    }
+
+    @Override
+    public List<UsernameOnly> findProjectionsByUsername(String username) {
+        return findDynamicProjectionsByUsername(username, UsernameOnly.class);
+    }
+
+    // 결과 타입별 JPQL / 행 매퍼는 DynamicProjectionPlan 에 캐시되어 있으므로 호출마다 다시 분석하지 않는다
+    @Override
+    public <T> List<T> findDynamicProjectionsByUsername(String username, Class<T> type) {
+        return DynamicProjectionPlan.of(type).execute(em, username);
+    }
+
+    /**
+     * 중복을 제거한 뒤 IN_CLAUSE_CHUNK_SIZE 씩 나눠서 조회하고 합친다 (DB 바인딩 파라미터 수 제한을 넘지 않음)
+     * 청크마다 파라미터 수는 2 의 거듭제곱으로 채워지므로 SQL / 실행 계획 종류는 log2(512) + 1 개 이하
+     * 1만 건 이상은 임시 테이블(DDL/DML)을 쓰므로 replica 로 가는 readOnly 트랜잭션이 아니라 primary 쓰기 트랜잭션에서 조회한다
+     * (호출한 쪽이 readOnly 트랜잭션이면 새 트랜잭션이므로 반환된 엔티티는 호출한 쪽 영속성 컨텍스트에 속하지 않음)
+     */
+    @Override
+    public List<Member> findByNames(Collection<String> names) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(names));
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        if (distinct.size() >= NAME_FILTER_TABLE_THRESHOLD) {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            }
+            return transaction.execute(status -> findByNameFilterTable(distinct));
+        }
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> findByNamesInChunks(distinct));
+    }
+
+    private List<Member> findByNamesInChunks(List<String> names) {
+        List<Member> result = new ArrayList<>();
+        for (int from = 0; from < names.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = names.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, names.size()));
+            result.addAll(em.createQuery("select m from Member m where m.username in :names", Member.class)
+                    .setParameter("names", chunk)
+                    .getResultList());
+        }
+        return result;
+    }
+
+    // 이름을 커넥션 전용 임시 테이블에 batch insert 후 조인 (H2 문법, PostgreSQL 이면 username = any(?) 에 배열 바인딩도 가능)
+    @SuppressWarnings("unchecked")
+    private List<Member> findByNameFilterTable(List<String> names) {
+        em.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // transactional: 진행 중인 트랜잭션을 커밋하지 않음, 커밋하면 비워짐
+                statement.execute("create local temporary table if not exists member_name_filter" +
+                        " (username varchar(255) primary key) on commit delete rows transactional");
+                statement.execute("delete from member_name_filter");
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into member_name_filter (username) values (?)")) {
+                for (int i = 0; i < names.size(); i++) {
+                    insert.setString(1, names.get(i));
+                    insert.addBatch();
+                    if ((i + 1) % IN_CLAUSE_CHUNK_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        });
+        return em.createNativeQuery("select m.* from member m" +
+                " join member_name_filter f on f.username = m.username", Member.class)
+                .getResultList();
+    }
+
+    // to-one left join 은 건수에 영향이 없으므로 DTO 페이지도 조인 없이 count
+    private long count(Integer age) {
+        String jpql = "select count(m) from Member m" + (age != null ? " where m.age = :age" : "");
+        TypedQuery<Long> query = em.createQuery(jpql, Long.class);
+        if (age != null) {
+            query.setParameter("age", age);
+        }
+        return query.getSingleResult();
+    }
+
+    /**
+     * 호출한 쪽 트랜잭션의 영속성 컨텍스트도 clear 되므로, 그 전에 로딩한 엔티티는 준영속 상태가 된다
+     */
+    @Override
+    @Transactional
+    public BulkInsertResult saveAllBatched(Stream<Member> members, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        Session session = em.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+
+        long start = System.nanoTime();
+        long rows = 0;
+        try (Stream<Member> stream = members) {
+            Iterator<Member> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Member member = iterator.next();
+                Team team = member.getTeam();
+                if (team != null && team.getId() == null) {
+                    em.persist(team);
+                }
+                em.persist(member);
+
+                if (++rows % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.flush();
+            em.clear();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+
+        BulkInsertResult result = new BulkInsertResult(rows, Duration.ofNanos(System.nanoTime() - start));
+        log.info("saveAllBatched rows={} elapsed={}ms rows/s={}",
+                rows, result.getElapsed().toMillis(), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public int bulkAgePlus(int age) {
+        return bulkAgePlus(age, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 청크마다 새 트랜잭션으로 커밋하므로 트랜잭션 밖에서만 호출할 수 있다
+     * 바깥 트랜잭션 안에서는 min/max 조회의 자동 flush 로 바깥 트랜잭션이 행 락을 잡고, 청크 트랜잭션이 그 락을 기다리게 된다
+     */
+    @Override
+    public BulkUpdateResult bulkAgePlus(int age, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("bulkAgePlus(age, chunkSize) must be called outside a transaction");
+        }
+        Object[] range = em.createQuery("select min(m.id), max(m.id) from Member m where m.age >= :age", Object[].class)
+                .setParameter("age", age)
+                .getSingleResult();
+        List<Integer> chunkCounts = new ArrayList<>();
+        if (range[0] == null) {
+            return new BulkUpdateResult(chunkCounts);
+        }
+
+        long minId = (Long) range[0];
+        long maxId = (Long) range[1];
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long fromId = from;
+            long toId = maxId - from < chunkSize ? maxId + 1 : from + chunkSize;
+            chunkCounts.add(transaction.execute(status -> bulkAgePlus(age, fromId, toId)));
+            if (toId > maxId) {
+                break;
+            }
+        }
+        return new BulkUpdateResult(chunkCounts);
+    }
+
+    // [fromId, toId) 구간. 2차 캐시는 hibernate 가 member 테이블을 사용하는 region 만 무효화
+    private int bulkAgePlus(int age, long fromId, long toId) {
+        // 벌크 연산 전(자동 flush 후) 상태 기준으로 대상이 되는 로딩된 회원
+        List<Member> stale = PersistenceContexts.findManaged(em, Member.class,
+                m -> m.getAge() >= age && m.getId() != null && m.getId() >= fromId && m.getId() < toId);
+
+        int count = em.createQuery("update versioned Member m set m.age = m.age + 1" +
+                " where m.age >= :age and m.id >= :fromId and m.id < :toId")
+                .setParameter("age", age)
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId)
+                .executeUpdate();
+
+        PersistenceContexts.refresh(em, stale);
+        // 엔티티 리스너를 거치지 않으므로 직접 무효화
+        memberDtoCache.invalidateAllAfterCompletion();
+        return count;
+    }
+
+    /**
+     * fetchSize 건마다 영속성 컨텍스트를 비워서 이미 처리한 엔티티를 준영속으로 만든다
+     * -> 전체 건수와 상관없이 메모리 사용량이 일정
+     */
+    @Override
+    public Stream<Member> streamAll(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive: " + fetchSize);
+        }
+        Session session = em.unwrap(Session.class);
+        ScrollableResults scroll = session.createQuery("select m from Member m left join fetch m.team", Member.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+
+        Spliterator<Member> spliterator = new Spliterators.AbstractSpliterator<Member>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private long count;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Member> action) {
+                if (count > 0 && count % fetchSize == 0) {
+                    session.clear();
+                }
+                if (!scroll.next()) {
+                    return false;
+                }
+                count++;
+                action.accept((Member) scroll.get(0));
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(scroll::close);
+    }
+
+    private boolean hasPendingWrites() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
 }
@@ -2,10 +2,10 @@ package me.iiaii.springdatajpaintro.repository;
 
 public interface NestedClosedProjections {
 
-    // 최적화 됨
     String getUsername();
 
-    // 여기부터는 최적화 X (left outer join) -> 즉, 복잡한 쿼리는 처리하지 못함
+    // 스프링 데이터 기본 동작은 team 엔티티 전체를 left outer join 으로 조회하지만,
+    // findDynamicProjectionsByUsername 은 t.id, t.name 컬럼만 평평하게 조회해서 TeamInfo 를 조립한다 (DynamicProjectionPlan)
     TeamInfo getTeam();
 
     interface TeamInfo {
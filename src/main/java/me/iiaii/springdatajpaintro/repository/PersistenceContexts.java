@@ -0,0 +1,40 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 벌크 연산 후 영속성 컨텍스트 전체를 clear 하지 않고, 영향받은 엔티티만 골라서 다시 읽기 위한 유틸
+ */
+final class PersistenceContexts {
+
+    private PersistenceContexts() {
+    }
+
+    // 현재 영속성 컨텍스트에 로딩되어 있는 엔티티 중 조건에 맞는 것
+    static <T> List<T> findManaged(EntityManager em, Class<T> type, Predicate<? super T> condition) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        List<T> result = new ArrayList<>();
+        for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContext().reentrantSafeEntityEntries()) {
+            Object entity = entry.getKey();
+            if (type.isInstance(entity) && entry.getValue().getStatus() == Status.MANAGED
+                    && condition.test(type.cast(entity))) {
+                result.add(type.cast(entity));
+            }
+        }
+        return result;
+    }
+
+    static void refresh(EntityManager em, List<?> entities) {
+        for (Object entity : entities) {
+            em.refresh(entity);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package me.iiaii.springdatajpaintro.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * primary / replica 커넥션 풀
+ * 각각을 DataSource 빈으로 등록하지 않아야 JPA, p6spy 가 라우팅 DataSource 하나만 보게 된다
+ */
+public class ReplicaDataSources implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    @Getter
+    private final DataSource primary;
+    @Getter
+    private final Map<String, DataSource> replicas;
+
+    // metricRegistry 가 있으면 풀 별 hikaricp.connections.* 메트릭을 등록 (풀이 빈이 아니라 자동 등록되지 않음)
+    private final MeterRegistry metricRegistry;
+
+    public ReplicaDataSources(RoutingDataSourceProperties properties, MeterRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+        this.primary = create(PRIMARY, properties.getPrimary());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            RoutingDataSourceProperties.Node node = properties.getReplicas().get(i);
+            String name = node.getName() != null ? node.getName() : "replica" + (i + 1);
+            replicas.put(name, create(name, node));
+        }
+        this.replicas = Collections.unmodifiableMap(replicas);
+    }
+
+    private DataSource create(String name, RoutingDataSourceProperties.Node node) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(node.getUrl());
+        dataSource.setUsername(node.getUsername());
+        dataSource.setPassword(node.getPassword());
+        dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+        if (metricRegistry != null) {
+            dataSource.setMetricRegistry(metricRegistry);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(this::close);
+        close(primary);
+    }
+
+    private void close(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource) {
+            ((HikariDataSource) dataSource).close();
+        }
+    }
+}
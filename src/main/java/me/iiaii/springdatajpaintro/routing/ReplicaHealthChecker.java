@@ -0,0 +1,124 @@
+package me.iiaii.springdatajpaintro.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * replica 접속 가능 여부와 복제 지연을 주기적으로 확인해서 읽기 대상 목록을 갱신
+ * 모든 replica 가 빠지면 라우팅 DataSource 가 primary 로 읽는다
+ */
+@Slf4j
+public class ReplicaHealthChecker implements HealthIndicator {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final ReplicaDataSources dataSources;
+    private final RoutingDataSourceProperties properties;
+
+    // replica 이름 -> 마지막 검사 결과 (null 이면 아직 검사 전)
+    private final Map<String, String> downReasons = new ConcurrentHashMap<>();
+    private final Map<String, Long> lags = new ConcurrentHashMap<>();
+    // 불변 리스트를 통째로 교체 (읽기는 락 없이)
+    private final AtomicReference<List<String>> healthyReplicas = new AtomicReference<>();
+
+    public ReplicaHealthChecker(ReplicaDataSources dataSources, RoutingDataSourceProperties properties) {
+        this.dataSources = dataSources;
+        this.properties = properties;
+        // 첫 검사 전에는 모두 사용 가능으로 본다 (접속 실패 시 markDown 으로 빠짐)
+        this.healthyReplicas.set(Collections.unmodifiableList(new ArrayList<>(dataSources.getReplicas().keySet())));
+    }
+
+    public List<String> healthyReplicas() {
+        return healthyReplicas.get();
+    }
+
+    // 커넥션 획득에 실패한 replica 를 다음 검사 전까지 제외
+    // 여러 스레드가 동시에 빼도 서로의 제거를 덮어쓰지 않도록 CAS 로 교체
+    public void markDown(String replica, Throwable cause) {
+        log.warn("replica {} marked down: {}", replica, cause.toString());
+        downReasons.put(replica, cause.toString());
+        healthyReplicas.updateAndGet(current -> {
+            List<String> healthy = new ArrayList<>(current);
+            healthy.remove(replica);
+            return Collections.unmodifiableList(healthy);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${routing.datasource.health-check-interval:5000}")
+    public void check() {
+        List<String> healthy = new ArrayList<>();
+        dataSources.getReplicas().forEach((name, dataSource) -> {
+            String reason = probe(name, dataSource);
+            if (reason == null) {
+                downReasons.remove(name);
+                healthy.add(name);
+            } else {
+                if (!reason.equals(downReasons.put(name, reason))) {
+                    log.warn("replica {} excluded from reads: {}", name, reason);
+                }
+            }
+        });
+        healthyReplicas.set(Collections.unmodifiableList(healthy));
+    }
+
+    // 사용할 수 없으면 사유, 사용 가능하면 null
+    private String probe(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return "connection is not valid";
+            }
+            long lag = lagMillis(connection);
+            lags.put(name, lag);
+            if (lag > properties.getMaxLag().toMillis()) {
+                return "replication lag " + lag + "ms > " + properties.getMaxLag().toMillis() + "ms";
+            }
+            return null;
+        } catch (SQLException e) {
+            return e.toString();
+        }
+    }
+
+    private long lagMillis(Connection connection) throws SQLException {
+        if (!StringUtils.hasText(properties.getLagQuery())) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // replica 가 모두 빠져도 primary 로 읽을 수 있으므로 UP, 상세에 replica 별 상태를 표시
+    @Override
+    public Health health() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        List<String> healthy = healthyReplicas.get();
+        dataSources.getReplicas().keySet().forEach(name -> {
+            Map<String, Object> replica = new LinkedHashMap<>();
+            replica.put("status", healthy.contains(name) ? "UP" : "DOWN");
+            replica.put("lagMillis", lags.get(name));
+            if (!healthy.contains(name)) {
+                replica.put("reason", downReasons.get(name));
+            }
+            details.put(name, replica);
+        });
+        details.put("readsFallbackToPrimary", healthy.isEmpty());
+        return Health.up().withDetails(details).build();
+    }
+}
@@ -0,0 +1,56 @@
+package me.iiaii.springdatajpaintro.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * readOnly 트랜잭션은 정상 replica 중 하나로 (round robin), 나머지는 primary 로
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaHealthChecker healthChecker;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(ReplicaDataSources dataSources, ReplicaHealthChecker healthChecker) {
+        this.healthChecker = healthChecker;
+        Map<Object, Object> targets = new HashMap<>(dataSources.getReplicas());
+        targets.put(ReplicaDataSources.PRIMARY, dataSources.getPrimary());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(dataSources.getPrimary());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReplicaDataSources.PRIMARY;
+        }
+        List<String> replicas = healthChecker.healthyReplicas();
+        if (replicas.isEmpty()) {
+            return ReplicaDataSources.PRIMARY;
+        }
+        return replicas.get(Math.floorMod(counter.getAndIncrement(), replicas.size()));
+    }
+
+    // replica 커넥션 획득에 실패하면 해당 replica 를 제외하고 primary 로 대체
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (ReplicaDataSources.PRIMARY.equals(key)) {
+            return super.getConnection();
+        }
+        try {
+            return getResolvedDataSources().get(key).getConnection();
+        } catch (SQLException e) {
+            healthChecker.markDown((String) key, e);
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+}
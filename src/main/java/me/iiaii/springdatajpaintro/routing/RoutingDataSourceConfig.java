@@ -0,0 +1,42 @@
+package me.iiaii.springdatajpaintro.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * routing.datasource.enabled=true 일 때만 spring.datasource 대신 primary / replica 라우팅 DataSource 를 사용
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "routing.datasource", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfig {
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(RoutingDataSourceProperties properties,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaDataSources(properties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaDataSources replicaDataSources,
+                                                     RoutingDataSourceProperties properties) {
+        return new ReplicaHealthChecker(replicaDataSources, properties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaDataSources replicaDataSources, ReplicaHealthChecker replicaHealthChecker) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaDataSources, replicaHealthChecker);
+        routing.afterPropertiesSet();
+        // 실제 커넥션은 첫 SQL 실행 시점에 가져온다 -> 그때는 트랜잭션의 readOnly 여부가 결정되어 있음
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
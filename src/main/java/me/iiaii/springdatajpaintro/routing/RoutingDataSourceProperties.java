@@ -0,0 +1,38 @@
+package me.iiaii.springdatajpaintro.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties("routing.datasource")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private Node primary = new Node();
+    private List<Node> replicas = new ArrayList<>();
+
+    // 복제 지연이 이 값을 넘는 replica 는 읽기 대상에서 제외
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    // replica 에서 실행해 복제 지연(ms)을 돌려주는 쿼리, 비어 있으면 지연 0 으로 간주
+    // ex) PostgreSQL: select coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+    private String lagQuery;
+
+    // 상태 검사 주기 (ms)
+    private long healthCheckInterval = 5000;
+
+    @Getter @Setter
+    public static class Node {
+        private String name;
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maximumPoolSize = 10;
+    }
+}
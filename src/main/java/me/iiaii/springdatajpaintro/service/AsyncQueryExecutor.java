@@ -0,0 +1,106 @@
+package me.iiaii.springdatajpaintro.service;
+
+import lombok.extern.slf4j.Slf4j;
+import me.iiaii.springdatajpaintro.sql.SqlStatementTracker;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 조회를 서블릿 스레드가 아닌 별도 실행기에서 readOnly 트랜잭션으로 실행
+ * 엔드포인트별 Semaphore 로 동시 실행 수를 제한하고, 한도나 대기 큐를 넘으면 기다리지 않고 503 으로 응답한다
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AsyncQueryProperties.class)
+public class AsyncQueryExecutor implements DisposableBean {
+
+    private final AsyncQueryProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor;
+    private final Map<String, Semaphore> limits = new ConcurrentHashMap<>();
+
+    public AsyncQueryExecutor(AsyncQueryProperties properties, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = createExecutor(properties);
+    }
+
+    public <T> CompletableFuture<T> submit(String endpoint, Supplier<T> query) {
+        Semaphore limit = limits.computeIfAbsent(endpoint, e -> new Semaphore(properties.limitOf(e)));
+        if (!limit.tryAcquire()) {
+            return CompletableFuture.failedFuture(overloaded(endpoint + " concurrency limit exceeded"));
+        }
+        // 요청 scope 를 실행기 스레드에서도 열어서 SQL 예산에 포함
+        Supplier<T> task = SqlStatementTracker.propagate(() -> readOnlyTransaction.execute(status -> query.get()));
+        try {
+            // 결과를 완료하기 전에 반납해야 응답을 받은 클라이언트의 다음 요청이 거절되지 않는다
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    limit.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            limit.release();
+            return CompletableFuture.failedFuture(overloaded("executor queue is full"));
+        }
+    }
+
+    private ResponseStatusException overloaded(String reason) {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, reason);
+    }
+
+    private static ExecutorService createExecutor(AsyncQueryProperties properties) {
+        if (properties.getExecutor() == AsyncQueryProperties.ExecutorType.VIRTUAL) {
+            ExecutorService virtual = virtualThreadExecutor();
+            if (virtual != null) {
+                log.info("async member queries run on virtual threads");
+                return virtual;
+            }
+            log.info("virtual threads are not available on this JDK, falling back to a platform thread pool");
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "member-query-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 컴파일 대상이 Java 11 이므로 Executors.newVirtualThreadPerTaskExecutor() 는 리플렉션으로 호출
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,32 @@
+package me.iiaii.springdatajpaintro.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter @Setter
+@ConfigurationProperties("member.async")
+public class AsyncQueryProperties {
+
+    // VIRTUAL 은 JDK 21 이상에서만 사용되고, 그 외에는 PLATFORM 으로 대체
+    private ExecutorType executor = ExecutorType.VIRTUAL;
+
+    // PLATFORM 실행기의 스레드 수 / 대기 큐 크기 (큐가 가득 차면 503)
+    private int threads = 50;
+    private int queueCapacity = 1000;
+
+    // 엔드포인트별 동시 실행 한도 (초과하면 대기하지 않고 바로 503)
+    private int defaultLimit = 100;
+    private Map<String, Integer> limits = new HashMap<>();
+
+    public int limitOf(String endpoint) {
+        return limits.getOrDefault(endpoint, defaultLimit);
+    }
+
+    public enum ExecutorType {
+        VIRTUAL, PLATFORM
+    }
+}
@@ -0,0 +1,112 @@
+package me.iiaii.springdatajpaintro.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.entity.Team;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 회원 전체를 한 건씩 스크롤하면서 바로 출력 스트림에 쓴다 (List 로 모으지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        try (Stream<Member> members = memberRepository.streamAll(FETCH_SIZE)) {
+            return format == Format.CSV ? writeCsv(members, out) : writeNdjson(members, out);
+        }
+    }
+
+    private long writeNdjson(Stream<Member> members, OutputStream out) throws IOException {
+        long rows = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        Iterator<Member> iterator = members.iterator();
+        while (iterator.hasNext()) {
+            Member member = iterator.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", member.getId());
+            generator.writeStringField("username", member.getUsername());
+            generator.writeNumberField("age", member.getAge());
+            generator.writeStringField("teamName", teamName(member));
+            generator.writeEndObject();
+            rows++;
+        }
+        // 레코드 사이 줄바꿈은 MinimalPrettyPrinter 가 넣음 (0 건이면 빈 응답)
+        generator.flush();
+        return rows;
+    }
+
+    private long writeCsv(Stream<Member> members, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,username,age,teamName\n");
+        Iterator<Member> iterator = members.iterator();
+        while (iterator.hasNext()) {
+            Member member = iterator.next();
+            writer.write(String.valueOf(member.getId()));
+            writer.write(',');
+            writer.write(csv(member.getUsername()));
+            writer.write(',');
+            writer.write(String.valueOf(member.getAge()));
+            writer.write(',');
+            writer.write(csv(teamName(member)));
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // team 은 페치 조인으로 이미 로딩되어 있으므로 추가 쿼리 없음
+    private String teamName(Member member) {
+        Team team = member.getTeam();
+        return team == null ? null : team.getName();
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
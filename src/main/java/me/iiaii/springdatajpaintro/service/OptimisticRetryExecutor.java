@@ -0,0 +1,72 @@
+package me.iiaii.springdatajpaintro.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * @Version 충돌(낙관적 락 실패) 시 작업 전체를 새 트랜잭션으로 다시 실행
+ * 비관적 락(findLockByUsername)처럼 행 락을 잡고 기다리지 않는다
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(OptimisticRetryProperties.class)
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticRetryProperties properties;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager, OptimisticRetryProperties properties) {
+        // 실패한 시도의 영속성 컨텍스트를 재사용하지 않도록 매번 새 트랜잭션
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    throw e;
+                }
+                long backoff = backoffMillis(attempt);
+                log.debug("optimistic lock failure, retry {}/{} after {}ms",
+                        attempt, properties.getMaxAttempts() - 1, backoff);
+                sleep(backoff);
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private long backoffMillis(int attempt) {
+        double base = properties.getInitialBackoff().toMillis() * Math.pow(properties.getMultiplier(), attempt - 1);
+        double capped = Math.min(base, properties.getMaxBackoff().toMillis());
+        double jitter = capped * properties.getJitter() * ThreadLocalRandom.current().nextDouble();
+        return (long) (capped - jitter);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting to retry", e);
+        }
+    }
+}
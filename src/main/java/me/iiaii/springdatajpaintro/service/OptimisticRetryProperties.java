@@ -0,0 +1,21 @@
+package me.iiaii.springdatajpaintro.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties("retry.optimistic")
+public class OptimisticRetryProperties {
+
+    // 첫 시도를 포함한 최대 실행 횟수
+    private int maxAttempts = 5;
+
+    // 재시도 대기 시간 = min(initialBackoff * multiplier^(n-1), maxBackoff) 에서 jitter 비율만큼 랜덤하게 줄임
+    private Duration initialBackoff = Duration.ofMillis(10);
+    private Duration maxBackoff = Duration.ofMillis(500);
+    private double multiplier = 2.0;
+    private double jitter = 0.5;
+}
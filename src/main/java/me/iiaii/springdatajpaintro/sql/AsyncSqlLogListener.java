@@ -0,0 +1,142 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 표본 (1/N) 이나 느린 SQL 만 골라서 링 버퍼에 넣고, 로그 출력은 백그라운드 스레드가 한다
+ * 요청 스레드는 로그 포맷팅 / 출력을 기다리지 않고, 버퍼가 가득 차면 버린 뒤 dropped 만 센다
+ */
+@Slf4j
+public class AsyncSqlLogListener extends JdbcEventListener implements MeterBinder, DisposableBean {
+
+    private static final int DRAIN_BATCH = 256;
+
+    private final SqlLogProperties properties;
+    private final long slowThresholdNanos;
+    private final SqlLogRingBuffer<Entry> buffer;
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private long reportedDropped; // 로그 스레드만 사용
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncSqlLogListener(SqlLogProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.getSlowThreshold() == null ? 0 : properties.getSlowThreshold().toNanos();
+        this.buffer = new SqlLogRingBuffer<>(properties.getBufferSize());
+        this.writer = new Thread(this::drainLoop, "sql-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        boolean slow = slowThresholdNanos > 0 && timeElapsedNanos >= slowThresholdNanos;
+        int sampleRate = properties.getSampleRate();
+        // 공유 카운터 대신 스레드별 난수 (스레드 사이 경합 없음)
+        if (!slow && e == null && (sampleRate <= 0 || ThreadLocalRandom.current().nextInt(sampleRate) != 0)) {
+            return;
+        }
+        sampled.increment();
+        String sql = properties.isIncludeParameters()
+                ? statementInformation.getSqlWithValues() : statementInformation.getSql();
+        Entry entry = new Entry(sql, timeElapsedNanos, slow, e, Thread.currentThread().getName());
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        long parkNanos = properties.getDrainInterval().toNanos();
+        while (running) {
+            int drained = buffer.drain(this::write, DRAIN_BATCH);
+            reportDropped();
+            if (drained == 0) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+        buffer.drain(this::write, Integer.MAX_VALUE);
+        reportDropped();
+    }
+
+    private void write(Entry entry) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(entry.elapsedNanos);
+        if (entry.error != null) {
+            log.warn("[{}] {}ms failed ({}) {}", entry.thread, millis, entry.error.getMessage(), entry.sql);
+        } else if (entry.slow) {
+            log.warn("[{}] {}ms slow {}", entry.thread, millis, entry.sql);
+        } else {
+            log.info("[{}] {}ms {}", entry.thread, millis, entry.sql);
+        }
+        written.increment();
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > reportedDropped) {
+            log.warn("sql log buffer full, dropped {} statements (total {})", total - reportedDropped, total);
+            reportedDropped = total;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sql.log.sampled", sampled, LongAdder::sum).register(registry);
+        FunctionCounter.builder("sql.log.dropped", dropped, LongAdder::sum).register(registry);
+        FunctionCounter.builder("sql.log.written", written, LongAdder::sum).register(registry);
+        Gauge.builder("sql.log.buffer.size", buffer, SqlLogRingBuffer::size).register(registry);
+    }
+
+    public long getSampled() {
+        return sampled.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    // 남은 로그를 모두 쓰고 종료
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private static final class Entry {
+
+        private final String sql;
+        private final long elapsedNanos;
+        private final boolean slow;
+        private final SQLException error;
+        private final String thread;
+
+        private Entry(String sql, long elapsedNanos, boolean slow, SQLException error, String thread) {
+            this.sql = sql;
+            this.elapsedNanos = elapsedNanos;
+            this.slow = slow;
+            this.error = error;
+            this.thread = thread;
+        }
+    }
+}
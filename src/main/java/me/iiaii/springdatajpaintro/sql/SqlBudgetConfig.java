@@ -0,0 +1,27 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlBudgetConfig implements WebMvcConfigurer {
+
+    private final SqlBudgetProperties properties;
+
+    @Bean
+    public SqlBudgetListener sqlBudgetListener() {
+        return new SqlBudgetListener(properties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlBudgetInterceptor(properties))
+                .addPathPatterns("/members", "/members/**", "/members2/**", "/async/members", "/async/members/**");
+    }
+}
@@ -0,0 +1,8 @@
+package me.iiaii.springdatajpaintro.sql;
+
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
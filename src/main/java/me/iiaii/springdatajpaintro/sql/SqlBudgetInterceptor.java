@@ -0,0 +1,55 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * HTTP 요청 단위 SQL 집계
+ * 비동기 요청은 서블릿 스레드에서 scope 를 떼어냈다가 재디스패치 때 다시 연결하고, 완료될 때 닫는다
+ * (실행기 스레드의 SQL 은 AsyncQueryExecutor 가 SqlStatementTracker.propagate 로 같은 scope 에 집계)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".scope";
+
+    private final SqlBudgetProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementScope started = (SqlStatementScope) request.getAttribute(SCOPE_ATTRIBUTE);
+        if (started != null) {
+            SqlStatementTracker.attach(started);
+            return true;
+        }
+        String name = request.getMethod() + " " + request.getRequestURI();
+        SqlStatementScope scope = SqlStatementTracker.open(name,
+                properties.getMaxStatementsPerRequest(), properties.getRepeatedStatementThreshold());
+        request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        return true;
+    }
+
+    // 응답은 나중에 다른 스레드에서 완료되므로 서블릿 스레드에는 scope 를 남기지 않음
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementScope scope = (SqlStatementScope) request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope != null) {
+            SqlStatementTracker.close(scope);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatementScope scope = (SqlStatementScope) request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope == null) {
+            return;
+        }
+        SqlStatementTracker.close(scope);
+        log.debug("[{}] {} statements", scope.getName(), scope.getStatementCount());
+    }
+}
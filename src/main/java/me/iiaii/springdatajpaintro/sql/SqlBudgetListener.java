@@ -0,0 +1,63 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * p6spy 로 실행되는 모든 SQL 을 현재 스레드의 scope 에 집계하고 예산 초과 / N+1 을 감지한다
+ * (p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동 등록)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlBudgetListener extends JdbcEventListener {
+
+    private static final Object TRANSACTION_SCOPE_KEY = new Object();
+
+    private final SqlBudgetProperties properties;
+
+    @Override
+    public void onBeforeAnyExecute(StatementInformation statementInformation) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        openTransactionScopeIfNecessary();
+        if (!SqlStatementTracker.isActive()) {
+            return;
+        }
+
+        List<String> violations = SqlStatementTracker.record(
+                statementInformation.getSql(), statementInformation.getSqlWithValues());
+        for (String violation : violations) {
+            if (properties.getAction() == SqlBudgetProperties.Action.RAISE) {
+                throw new SqlBudgetExceededException(violation);
+            }
+            log.warn(violation);
+        }
+    }
+
+    // 트랜잭션 안에서 첫 SQL 이 실행될 때 scope 를 열고, 트랜잭션이 끝나면 닫는다
+    private void openTransactionScopeIfNecessary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(TRANSACTION_SCOPE_KEY)) {
+            return;
+        }
+        String name = "tx " + TransactionSynchronizationManager.getCurrentTransactionName();
+        SqlStatementScope scope = SqlStatementTracker.open(name,
+                properties.getMaxStatementsPerTransaction(), properties.getRepeatedStatementThreshold());
+        TransactionSynchronizationManager.bindResource(TRANSACTION_SCOPE_KEY, scope);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SCOPE_KEY);
+                SqlStatementTracker.close(scope);
+                log.debug("[{}] {} statements", scope.getName(), scope.getStatementCount());
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties("sql.budget")
+public class SqlBudgetProperties {
+
+    private boolean enabled = true;
+
+    // 요청 / 트랜잭션당 허용 SQL 수 (0 이하면 제한 없음)
+    private int maxStatementsPerRequest = 50;
+    private int maxStatementsPerTransaction = 30;
+
+    // 같은 SQL 이 바인딩 값만 바뀌어 이 횟수 이상 실행되면 N+1 로 판단
+    private int repeatedStatementThreshold = 5;
+
+    private Action action = Action.LOG;
+
+    public enum Action {
+        LOG, RAISE
+    }
+}
@@ -0,0 +1,18 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "sql.log", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SqlLogProperties.class)
+public class SqlLogConfig {
+
+    // p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동 등록
+    @Bean
+    public AsyncSqlLogListener asyncSqlLogListener(SqlLogProperties properties) {
+        return new AsyncSqlLogListener(properties);
+    }
+}
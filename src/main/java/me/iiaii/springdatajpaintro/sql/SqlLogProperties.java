@@ -0,0 +1,30 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties("sql.log")
+public class SqlLogProperties {
+
+    // p6spy / hibernate trace 로깅 대신 표본만 비동기로 기록
+    private boolean enabled = false;
+
+    // 평균 N 건 중 1 건 기록 (0 이면 표본 추출 안 함, slow-threshold 만 사용)
+    private int sampleRate = 100;
+
+    // 이 시간 이상 걸린 SQL 은 표본과 상관없이 기록 (0 이면 사용 안 함)
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    // 링 버퍼 크기 (2 의 거듭제곱으로 올림), 가득 차면 버리고 dropped 만 센다
+    private int bufferSize = 1024;
+
+    // 바인딩 값을 넣은 SQL 로 기록 (문자열을 만드는 비용은 표본으로 뽑힌 SQL 에만)
+    private boolean includeParameters = true;
+
+    // 버퍼가 비어 있을 때 로그 스레드가 쉬는 시간
+    private Duration drainInterval = Duration.ofMillis(100);
+}
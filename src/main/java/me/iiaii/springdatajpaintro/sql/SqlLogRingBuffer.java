@@ -0,0 +1,65 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 스레드가 넣고 한 스레드만 꺼내는 고정 크기 링 버퍼 (락 없음)
+ * 가득 차면 기다리지 않고 offer 가 false 를 반환한다
+ */
+class SqlLogRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // 다음에 넣을 위치 (생산자끼리 CAS 로 예약)
+    private volatile long head; // 다음에 꺼낼 위치 (소비자만 수정)
+
+    SqlLogRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean offer(E element) {
+        long position;
+        do {
+            position = tail.get();
+            if (position - head >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(position, position + 1));
+        // 예약한 칸은 소비자가 이미 비워둔 칸 (head 를 올리기 전에 null 로 바꾼다)
+        slots.lazySet((int) position & mask, element);
+        return true;
+    }
+
+    /**
+     * 소비자 스레드 하나에서만 호출
+     * 예약은 됐지만 아직 채워지지 않은 칸을 만나면 거기서 멈추고 다음 호출에서 이어간다
+     */
+    int drain(Consumer<? super E> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            head = ++position;
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
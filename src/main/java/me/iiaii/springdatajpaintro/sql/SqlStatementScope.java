@@ -0,0 +1,100 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 하나의 단위(HTTP 요청, 트랜잭션, 테스트) 동안 실행된 SQL 집계
+ * 같은 SQL 이 바인딩 값만 바뀌어서 반복되면 N+1 로 판단한다
+ * 요청의 작업이 여러 스레드에서 실행될 수 있으므로 (SqlStatementTracker.propagate) 집계는 동기화한다
+ */
+public class SqlStatementScope {
+
+    // 바인딩 값 종류는 이 이상 세지 않음 (메모리 제한)
+    private static final int MAX_TRACKED_BINDS = 1000;
+
+    private final String name;
+    private final int maxStatements;
+    private final int nPlusOneThreshold;
+
+    private int statementCount;
+    private final Map<String, Set<Integer>> bindsBySql = new HashMap<>();
+    private final List<String> violations = new ArrayList<>();
+    private boolean budgetReported;
+    private final Set<String> nPlusOneReported = new HashSet<>();
+
+    /**
+     * @param maxStatements     허용 SQL 수 (0 이하면 제한 없음)
+     * @param nPlusOneThreshold 같은 SQL 이 다른 바인딩 값으로 이 횟수 이상 실행되면 N+1 (0 이하면 검사 안 함)
+     */
+    public SqlStatementScope(String name, int maxStatements, int nPlusOneThreshold) {
+        this.name = name;
+        this.maxStatements = maxStatements;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    /**
+     * @return 이번 SQL 로 새로 발생한 위반 내용, 없으면 null
+     */
+    synchronized String record(String sql, String sqlWithValues) {
+        statementCount++;
+        Set<Integer> binds = bindsBySql.computeIfAbsent(sql, k -> new HashSet<>());
+        if (binds.size() < MAX_TRACKED_BINDS) {
+            binds.add(sqlWithValues == null ? 0 : sqlWithValues.hashCode());
+        }
+
+        if (maxStatements > 0 && statementCount > maxStatements && !budgetReported) {
+            budgetReported = true;
+            return violation(String.format("[%s] SQL budget exceeded: more than %d statements", name, maxStatements));
+        }
+        if (nPlusOneThreshold > 0 && binds.size() >= nPlusOneThreshold && nPlusOneReported.add(sql)) {
+            return violation(String.format("[%s] possible N+1: statement executed with %d different bind values: %s",
+                    name, binds.size(), sql));
+        }
+        return null;
+    }
+
+    private String violation(String message) {
+        violations.add(message);
+        return message;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return 바인딩 값을 바꿔가며 threshold 번 이상 실행된 SQL 과 그 횟수
+     */
+    public synchronized Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        bindsBySql.forEach((sql, binds) -> {
+            if (binds.size() >= threshold) {
+                repeated.put(sql, binds.size());
+            }
+        });
+        return repeated;
+    }
+
+    public synchronized List<String> getViolations() {
+        return Collections.unmodifiableList(new ArrayList<>(violations));
+    }
+
+    public synchronized void reset() {
+        statementCount = 0;
+        bindsBySql.clear();
+        violations.clear();
+        budgetReported = false;
+        nPlusOneReported.clear();
+    }
+}
@@ -0,0 +1,103 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드에 열려 있는 SqlStatementScope 들 (요청 안의 트랜잭션처럼 중첩 가능)
+ * SQL 한 건은 열려 있는 모든 scope 에 집계된다
+ * 다른 스레드에서 실행하는 작업은 propagate 로 감싸야 요청 scope 에 집계된다
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Deque<SqlStatementScope>> SCOPES = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    public static SqlStatementScope open(String name, int maxStatements, int nPlusOneThreshold) {
+        SqlStatementScope scope = new SqlStatementScope(name, maxStatements, nPlusOneThreshold);
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        scopes.push(scope);
+        return scope;
+    }
+
+    // 이미 만든 scope 를 현재 스레드에 다시 연결 (비동기 요청의 재디스패치)
+    public static void attach(SqlStatementScope scope) {
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        scopes.push(scope);
+    }
+
+    /**
+     * 지금 스레드에 열려 있는 scope 들을 작업을 실행하는 스레드에서도 열어둔다
+     * 작업이 끝나면 실행 스레드의 원래 상태로 되돌린다
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Deque<SqlStatementScope> current = SCOPES.get();
+        if (current == null) {
+            return task;
+        }
+        List<SqlStatementScope> captured = new ArrayList<>(current);
+        return () -> {
+            Deque<SqlStatementScope> previous = SCOPES.get();
+            SCOPES.set(new ArrayDeque<>(captured));
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    SCOPES.remove();
+                } else {
+                    SCOPES.set(previous);
+                }
+            }
+        };
+    }
+
+    public static void close(SqlStatementScope scope) {
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    public static boolean isActive() {
+        return SCOPES.get() != null;
+    }
+
+    /**
+     * @return 이번 SQL 로 새로 발생한 위반 내용
+     */
+    static List<String> record(String sql, String sqlWithValues) {
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return Collections.emptyList();
+        }
+        List<String> violations = null;
+        for (SqlStatementScope scope : scopes) {
+            String violation = scope.record(sql, sqlWithValues);
+            if (violation != null) {
+                if (violations == null) {
+                    violations = new ArrayList<>();
+                }
+                violations.add(violation);
+            }
+        }
+        return violations == null ? Collections.emptyList() : violations;
+    }
+}
@@ -0,0 +1,114 @@
+package me.iiaii.springdatajpaintro.cache;
+
+import me.iiaii.springdatajpaintro.dto.MemberDto;
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 무효화가 커밋 후에 일어나는지 확인해야 하므로 트랜잭션 없이 실행
+ */
+@SpringBootTest
+class MemberDtoCacheTest {
+
+    @Autowired
+    MemberDtoCache memberDtoCache;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void clear() {
+        memberDtoCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("read-through")
+    public void readThrough() throws Exception {
+        // given
+        Long id = memberRepository.save(new Member("dtoCache", 10)).getId();
+
+        // when
+        Optional<MemberDto> first = memberDtoCache.get(id, loader());
+        Optional<MemberDto> second = memberDtoCache.get(id, loader());
+
+        // then
+        assertThat(first).isPresent();
+        assertThat(second.get().getUsername()).isEqualTo("dtoCache");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("회원 수정 커밋 후 무효화")
+    public void invalidateOnUpdate() throws Exception {
+        // given
+        Long id = memberRepository.save(new Member("dtoCacheUpdate", 10)).getId();
+        memberDtoCache.get(id, loader());
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.findById(id).get().setUsername("dtoCacheUpdated");
+            memberRepository.flush();
+            // 커밋 전에는 그대로
+            assertThat(memberDtoCache.get(id, loader()).get().getUsername()).isEqualTo("dtoCacheUpdate");
+        });
+
+        // then
+        assertThat(memberDtoCache.get(id, loader()).get().getUsername()).isEqualTo("dtoCacheUpdated");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("bulkAgePlus 후 전체 무효화")
+    public void invalidateOnBulkUpdate() throws Exception {
+        // given
+        Long id = memberRepository.save(new Member("dtoCacheBulk", 10)).getId();
+        memberDtoCache.get(id, loader());
+
+        // when
+        memberRepository.bulkAgePlus(Integer.MAX_VALUE);
+
+        // then
+        assertThat(memberDtoCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("maxEntries 를 넘으면 제거")
+    public void evictWhenFull() throws Exception {
+        // given
+        MemberDtoCache cache = new MemberDtoCache(3, new SimpleMeterRegistry());
+
+        // when
+        for (long id = 1; id <= 10; id++) {
+            cache.get(id, key -> Optional.of(new MemberDto(key, "evict" + key, null)));
+        }
+
+        // then
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    private Function<Long, Optional<MemberDto>> loader() {
+        return id -> {
+            loads.incrementAndGet();
+            return memberRepository.findMemberDtoById(id);
+        };
+    }
+}
@@ -13,6 +13,7 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,4 +83,30 @@ class MemberTest {
         System.out.println("findMember.getCreatedBy() = " + findMember.getCreatedBy());
         System.out.println("findMember.getLastModifiedBy() = " + findMember.getLastModifiedBy());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("AuditFieldListener")
+    public void auditFields() throws Exception {
+        // given
+        Member member = new Member("auditMember");
+        memberRepository.save(member);
+        em.flush(); // @PrePersist
+
+        Thread.sleep(100);
+        member.setUsername("auditMember2");
+
+        // when
+        em.flush(); // @PreUpdate
+        em.clear();
+        Member findMember = memberRepository.findById(member.getId()).get();
+
+        // then
+        assertNotNull(findMember.getCreatedDate());
+        assertTrue(findMember.getLastModifiedDate().isAfter(findMember.getCreatedDate()));
+        // auditor 는 트랜잭션당 한 번만 만들어지는 version 4 UUID
+        UUID auditor = UUID.fromString(findMember.getCreatedBy());
+        assertEquals(4, auditor.version());
+        assertEquals(2, auditor.variant());
+        assertEquals(findMember.getCreatedBy(), findMember.getLastModifiedBy());
+    }
+}
@@ -0,0 +1,45 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "jdbc.statement-cache.size=16")
+@Transactional
+class JdbcPerformanceEndpointTest {
+
+    @Autowired
+    JdbcPerformanceEndpoint endpoint;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("같은 쿼리 반복 시 plan 캐시 / statement 캐시 시뮬레이션 hit")
+    @SuppressWarnings("unchecked")
+    public void cacheHits() throws Exception {
+        // given
+        memberRepository.save(new Member("jdbcPerf", 10));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            memberRepository.findByUsernameAndAgeGreaterThan("jdbcPerf", i);
+        }
+        Map<String, Object> result = endpoint.jdbcPerformance();
+
+        // then
+        Map<String, Object> statementCache = (Map<String, Object>) result.get("simulatedStatementCache");
+        Map<String, Object> queryPlanCache = (Map<String, Object>) result.get("queryPlanCache");
+        assertThat((long) statementCache.get("hits")).isGreaterThanOrEqualTo(4);
+        assertThat((long) queryPlanCache.get("hits")).isGreaterThan(0);
+        assertThat((Map<String, Object>) result.get("pools")).isNotEmpty();
+    }
+}
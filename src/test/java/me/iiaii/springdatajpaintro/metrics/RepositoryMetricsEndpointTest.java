@@ -0,0 +1,79 @@
+package me.iiaii.springdatajpaintro.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsEndpointTest {
+
+    private static final String METHOD = "findByUsernameAndAgeGreaterThan(String,int)";
+
+    @Autowired
+    RepositoryMetricsEndpoint endpoint;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("리포지토리 메소드별 호출 수 / 백분위 / 행 수 / SQL 수")
+    public void repositoryMetrics() throws Exception {
+        // given
+        memberRepository.save(new Member("repositoryMetrics", 10));
+        memberRepository.save(new Member("repositoryMetrics", 20));
+        // 미터는 컨텍스트 캐시로 다른 테스트와 공유되므로 호출 전 값과의 차이로 검증
+        long countBefore = count();
+        double rowsBefore = total(RepositoryMetricsInterceptor.ROWS);
+        double statementsBefore = total(RepositoryMetricsInterceptor.STATEMENTS);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            memberRepository.findByUsernameAndAgeGreaterThan("repositoryMetrics", 15);
+        }
+        List<Map<String, Object>> result = endpoint.repositoryMetrics();
+
+        // then
+        assertThat(count() - countBefore).isEqualTo(3);
+        assertThat(total(RepositoryMetricsInterceptor.ROWS) - rowsBefore).isEqualTo(3);
+        // 매 호출 select 1 (첫 호출에는 save 한 회원 flush 도 포함)
+        assertThat(total(RepositoryMetricsInterceptor.STATEMENTS) - statementsBefore)
+                .isGreaterThanOrEqualTo(3);
+
+        Map<String, Object> method = result.stream()
+                .filter(values -> "MemberRepository".equals(values.get("repository")))
+                .filter(values -> METHOD.equals(values.get("method")))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertThat((long) method.get("count")).isGreaterThanOrEqualTo(3);
+        assertThat(method).containsKeys("p50Millis", "p99Millis", "p999Millis", "meanRows", "meanStatements", "errors");
+    }
+
+    // 미터는 처음 호출될 때 등록되므로 아직 없으면 0
+    private long count() {
+        Timer timer = registry.find(RepositoryMetricsInterceptor.LATENCY)
+                .tag("repository", "MemberRepository").tag("method", METHOD).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double total(String name) {
+        DistributionSummary summary = registry.find(name)
+                .tag("repository", "MemberRepository").tag("method", METHOD).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,80 @@
+package me.iiaii.springdatajpaintro.projection;
+
+import me.iiaii.springdatajpaintro.repository.NestedClosedProjections;
+import me.iiaii.springdatajpaintro.repository.UsernameOnly;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProjectionTypeTest {
+
+    @Test
+    @DisplayName("생성된 구현 클래스 (프록시 X)")
+    public void generatedClass() throws Exception {
+        // given
+        ProjectionType<UsernameOnly> type = ProjectionType.of(UsernameOnly.class);
+
+        // when
+        UsernameOnly row = type.fromTuple(new Object[]{"member1"});
+
+        // then
+        assertThat(type.getColumnPaths()).containsExactly("username");
+        assertThat(row.getUsername()).isEqualTo("member1");
+        assertThat(Proxy.isProxyClass(row.getClass())).isFalse();
+        assertThat(row).isEqualTo(type.fromTuple(new Object[]{"member1"}));
+        assertThat(ProjectionType.of(UsernameOnly.class)).isSameAs(type);
+    }
+
+    @Test
+    @DisplayName("중첩 projection 을 평평한 tuple 에서 조립")
+    public void nested() throws Exception {
+        // given
+        ProjectionType<NestedClosedProjections> type = ProjectionType.of(NestedClosedProjections.class);
+
+        // when
+        NestedClosedProjections withTeam = type.fromTuple(new Object[]{1L, "teamA", "member1"});
+        NestedClosedProjections withoutTeam = type.fromTuple(new Object[]{null, null, "member2"});
+        NestedClosedProjections withUnnamedTeam = type.fromTuple(new Object[]{2L, null, "member3"});
+
+        // then
+        assertThat(type.getColumnPaths()).containsExactly("team.id", "team.name", "username");
+        assertThat(withTeam.getUsername()).isEqualTo("member1");
+        assertThat(withTeam.getTeam().getName()).isEqualTo("teamA");
+        assertThat(withoutTeam.getTeam()).isNull();
+        // 이름이 null 인 팀도 팀이 있으면 TeamInfo 는 있음 (스프링 데이터 projection 과 같은 동작)
+        assertThat(withUnnamedTeam.getTeam()).isNotNull();
+        assertThat(withUnnamedTeam.getTeam().getName()).isNull();
+    }
+
+    @Test
+    @DisplayName("primitive 반환 타입은 언박싱")
+    public void primitive() throws Exception {
+        // when
+        AgeOnly row = ProjectionType.of(AgeOnly.class).fromTuple(new Object[]{10, true});
+
+        // then
+        assertThat(row.getAge()).isEqualTo(10);
+        assertThat(row.isAdult()).isTrue();
+    }
+
+    @Test
+    @DisplayName("getter 가 아닌 메소드는 지원하지 않음")
+    public void notGetter() throws Exception {
+        assertThatThrownBy(() -> ProjectionType.of(NotProjection.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public interface AgeOnly {
+        int getAge();
+
+        boolean isAdult();
+    }
+
+    public interface NotProjection {
+        String username(String prefix);
+    }
+}
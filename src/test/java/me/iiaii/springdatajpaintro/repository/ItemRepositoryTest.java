@@ -1,14 +1,23 @@
 package me.iiaii.springdatajpaintro.repository;
 
 import me.iiaii.springdatajpaintro.entity.Item;
+import me.iiaii.springdatajpaintro.sql.SqlBudgetExtension;
+import me.iiaii.springdatajpaintro.sql.SqlStatementScope;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
+@ExtendWith(SqlBudgetExtension.class)
 class ItemRepositoryTest {
 
     @Autowired
@@ -27,4 +36,50 @@ class ItemRepositoryTest {
         // then
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("insertAll")
+    public void insertAll(SqlStatementScope sql) throws Exception {
+        // given
+        sql.reset();
+
+        // when
+        BulkInsertResult result = itemRepository.insertAll(IntStream.range(0, 250)
+                .mapToObj(i -> new Item("insertAll" + i)), 100);
+
+        // then
+        // merge 전 SELECT 없이 batch insert 3번 (100 + 100 + 50)
+        assertThat(result.getRows()).isEqualTo(250);
+        assertThat(sql.getStatementCount()).isEqualTo(3);
+        assertThat(itemRepository.findById("insertAll249")).isPresent();
+    }
+
+    @Test
+    @DisplayName("insertIfAbsent")
+    public void insertIfAbsent(SqlStatementScope sql) throws Exception {
+        // given
+        itemRepository.insert(new Item("upsert1"));
+        sql.reset();
+
+        // when
+        int inserted = itemRepository.insertIfAbsent(Arrays.asList("upsert1", "upsert2", "upsert3"), 100);
+
+        // then
+        // 이미 있던 upsert1 은 건너뛰고 예외 없이 한 번의 batch 로 처리
+        assertThat(inserted).isEqualTo(2);
+        assertThat(sql.getStatementCount()).isEqualTo(1);
+        assertThat(itemRepository.findAllById(Arrays.asList("upsert1", "upsert2", "upsert3"))).hasSize(3);
+        assertThat(itemRepository.findById("upsert2").get().isNew()).isFalse();
+    }
+
+    @Test
+    @DisplayName("batchSize <= 0")
+    public void invalidBatchSize() throws Exception {
+        assertThatThrownBy(() -> itemRepository.insertAll(Stream.of(new Item("invalidBatch")), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> itemRepository.insertIfAbsent(Arrays.asList("invalidBatch"), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> itemRepository.insertIfAbsent(Arrays.asList("invalidBatch"), -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
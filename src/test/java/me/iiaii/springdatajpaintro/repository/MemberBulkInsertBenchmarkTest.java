@@ -0,0 +1,71 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * saveAll vs saveAllBatched 비교 (./gradlew benchmarkTest 로만 실행)
+ * saveAll 은 모든 엔티티를 영속성 컨텍스트에 들고 있으므로 1M 건은 힙을 충분히 주고 실행해야 한다
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.type=warn",
+        "decorator.datasource.p6spy.enable-logging=false"
+})
+class MemberBulkInsertBenchmarkTest {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    @DisplayName("saveAll vs saveAllBatched")
+    public void compare(int rows) throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // saveAll
+        long start = System.nanoTime();
+        tx.executeWithoutResult(status -> {
+            List<Member> members = IntStream.range(0, rows)
+                    .mapToObj(i -> new Member("user_" + i, i % 100))
+                    .collect(Collectors.toList());
+            memberRepository.saveAll(members);
+        });
+        double saveAllRowsPerSecond = rows * 1_000_000_000d / (System.nanoTime() - start);
+        memberRepository.deleteAllInBatch();
+
+        // saveAllBatched
+        BulkInsertResult result = memberRepository.saveAllBatched(IntStream.range(0, rows)
+                .mapToObj(i -> new Member("user_" + i, i % 100)), BATCH_SIZE);
+
+        System.out.printf("rows=%d saveAll=%.0f rows/s saveAllBatched=%.0f rows/s%n",
+                rows, saveAllRowsPerSecond, result.getRowsPerSecond());
+        assertThat(result.getRows()).isEqualTo(rows);
+        assertThat(memberRepository.count()).isEqualTo(rows);
+    }
+}
@@ -2,6 +2,7 @@ package me.iiaii.springdatajpaintro.repository;
 
 import me.iiaii.springdatajpaintro.entity.Member;
 import me.iiaii.springdatajpaintro.entity.Team;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -139,4 +141,30 @@ class MemberJpaRepositoryTest {
         // then
         assertThat(resultCount).isEqualTo(3);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("streamAll")
+    public void streamAll() throws Exception {
+        // given
+        Team team = new Team("jpaStreamTeam");
+        em.persist(team);
+        for (int i = 0; i < 10; i++) {
+            memberJpaRepository.save(new Member("jpaStream" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        // when
+        // 다른 테스트가 커밋한 회원도 함께 읽히므로 이 테스트의 팀 id 로만 센다
+        long count;
+        try (Stream<Member> members = memberJpaRepository.streamAll(3)) { // 3건마다 영속성 컨텍스트 clear
+            count = members
+                    .filter(m -> m.getTeam() != null && team.getId().equals(m.getTeam().getId()))
+                    .count();
+        }
+
+        // then
+        assertThat(count).isEqualTo(10);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isLessThanOrEqualTo(3 + 1); // member 3 + team 1
+    }
+}
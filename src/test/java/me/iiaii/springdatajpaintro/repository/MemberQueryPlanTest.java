@@ -0,0 +1,181 @@
+package me.iiaii.springdatajpaintro.repository;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.entity.Team;
+import me.iiaii.springdatajpaintro.sql.QueryPlanChecker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 (커스텀 fragment 포함) 조회 메소드가 실행하는 SQL 의 H2 실행 계획을 확인
+ * 인덱스를 타야 하는 쿼리가 테이블 전체를 읽으면 (tableScan) 실패한다
+ */
+@SpringBootTest
+@Transactional
+class MemberQueryPlanTest {
+
+    // 선언된 메소드를 검사하는 리포지토리 인터페이스 (JpaRepository 기본 메소드는 제외)
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            MemberRepository.class,
+            MemberRepositoryCustom.class,
+            TeamRepository.class,
+            InsertOnlyRepository.class,
+            ItemRepositoryCustom.class);
+
+    // 조건 없이 전체를 읽는 것이 의도인 메소드
+    private static final Set<String> FULL_SCAN_METHODS = Set.of(
+            "findTop3HelloBy()",
+            "findUsernameList()",
+            "findMemberDto()",
+            "findMemberFetchJoin()",
+            "findAll()",
+            "findMemberCustom()",
+            "findAll(KeysetCursor,int)",
+            "findAll(Pageable,CountMode)",
+            "findMemberDtoPage(Pageable,CountMode)",
+            "findByNativeProjection(Pageable)",
+            "streamAll(int)");
+
+    // 조회가 아닌 저장 / 수정 메소드
+    private static final Set<String> WRITE_METHODS = Set.of(
+            "saveAllBatched(Stream,int)",
+            "bulkAgePlus(int)",
+            "bulkAgePlus(int,int)",
+            "insert(Object)",
+            "insertAll(Stream,int)",
+            "insertIfAbsent(Collection,int)");
+
+    private static final String USERNAME = "queryPlan";
+    private static final int AGE = 20;
+
+    @TestConfiguration
+    static class QueryPlanConfig {
+
+        @Bean
+        public QueryPlanChecker queryPlanChecker(DataSource dataSource) {
+            return new QueryPlanChecker(dataSource);
+        }
+    }
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    QueryPlanChecker queryPlanChecker;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    @DisplayName("리포지토리의 조회 메소드는 모두 실행 계획 검사 대상이거나 전체 조회 / 쓰기 예외 목록에 있어야 함")
+    public void allQueryMethodsCovered() throws Exception {
+        // given
+        Set<String> checked = queryMethods().keySet();
+
+        // when
+        List<String> uncovered = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> !method.isSynthetic() && !method.isDefault())
+                .map(MemberQueryPlanTest::signature)
+                .filter(signature -> !checked.contains(signature)
+                        && !FULL_SCAN_METHODS.contains(signature) && !WRITE_METHODS.contains(signature))
+                .collect(Collectors.toList());
+
+        // then
+        assertThat(uncovered).as("add a plan check to MemberQueryPlanTest.queryMethods()").isEmpty();
+    }
+
+    @Test
+    @DisplayName("username / age 조회는 인덱스 사용 (tableScan 없음)")
+    public void queryMethodsUseIndexes() throws Exception {
+        // given
+        Team team = new Team("queryPlanTeam");
+        em.persist(team);
+        em.persist(new Member(USERNAME, AGE, team));
+        em.flush();
+        em.clear();
+
+        Map<String, Map<String, String>> violations = new LinkedHashMap<>();
+        for (Map.Entry<String, Runnable> entry : queryMethods().entrySet()) {
+            // when
+            List<String> statements = queryPlanChecker.capture(entry.getValue());
+            em.clear();
+
+            // then
+            assertThat(statements).as("%s executed no select", entry.getKey()).isNotEmpty();
+            Map<String, String> scans = queryPlanChecker.tableScans(statements);
+            if (!scans.isEmpty()) {
+                violations.put(entry.getKey(), scans);
+            }
+        }
+        assertThat(violations).as("queries doing a table scan").isEmpty();
+    }
+
+    @Test
+    @DisplayName("인덱스 조건이 없으면 tableScan 으로 감지")
+    public void detectsTableScan() throws Exception {
+        // given
+        List<String> statements = queryPlanChecker.capture(() -> memberRepository.findMemberFetchJoin());
+
+        // when
+        Map<String, String> scans = queryPlanChecker.tableScans(statements);
+
+        // then
+        assertThat(scans).hasSize(1);
+        assertThat(QueryPlanChecker.scannedTables(scans.values().iterator().next())).contains("MEMBER");
+    }
+
+    // 메소드 시그니처 (REPOSITORIES 에 선언된 username / age / id 로 조회하는 메소드) -> 호출
+    private Map<String, Runnable> queryMethods() {
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "username"));
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("findByUsernameAndAgeGreaterThan(String,int)", () -> memberRepository.findByUsernameAndAgeGreaterThan(USERNAME, AGE - 1));
+        calls.put("findByUsername(String)", () -> memberRepository.findByUsername(USERNAME));
+        calls.put("findUser(String,int)", () -> memberRepository.findUser(USERNAME, AGE));
+        calls.put("findMemberDtoById(Long)", () -> memberRepository.findMemberDtoById(1L));
+        calls.put("findListByUsername(String)", () -> memberRepository.findListByUsername(USERNAME));
+        calls.put("findMemberByUsername(String)", () -> memberRepository.findMemberByUsername(USERNAME));
+        calls.put("findOptionalByUsername(String)", () -> memberRepository.findOptionalByUsername(USERNAME));
+        calls.put("findByUsername(String,Pageable)", () -> memberRepository.findByUsername(USERNAME, page));
+        calls.put("findByAge(int,Pageable)", () -> memberRepository.findByAge(AGE, page));
+        calls.put("findByAge(int,Pageable,CountMode)", () -> memberRepository.findByAge(AGE, page, CountMode.EXACT));
+        calls.put("findSliceByAge(int,Pageable)", () -> memberRepository.findSliceByAge(AGE, page));
+        calls.put("findReadOnlyByUsername(String)", () -> memberRepository.findReadOnlyByUsername(USERNAME));
+        calls.put("findLockByUsername(String)", () -> memberRepository.findLockByUsername(USERNAME));
+        calls.put("findOptimisticByUsername(String)", () -> memberRepository.findOptimisticByUsername(USERNAME));
+        calls.put("findProjections2ByUsername(String)", () -> memberRepository.findProjections2ByUsername(USERNAME));
+        calls.put("findByNativeQuery(String)", () -> memberRepository.findByNativeQuery(USERNAME));
+        calls.put("findByAge(int,KeysetCursor,int)", () -> memberRepository.findByAge(AGE, null, 10));
+        calls.put("findByNames(Collection)", () -> memberRepository.findByNames(Arrays.asList(USERNAME, "queryPlan2")));
+        calls.put("findProjectionsByUsername(String)", () -> memberRepository.findProjectionsByUsername(USERNAME));
+        calls.put("findDynamicProjectionsByUsername(String,Class)",
+                () -> memberRepository.findDynamicProjectionsByUsername(USERNAME, NestedClosedProjections.class));
+        return calls;
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+}
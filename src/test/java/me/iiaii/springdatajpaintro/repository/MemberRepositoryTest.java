@@ -3,12 +3,19 @@ package me.iiaii.springdatajpaintro.repository;
 import me.iiaii.springdatajpaintro.dto.MemberDto;
 import me.iiaii.springdatajpaintro.entity.Member;
 import me.iiaii.springdatajpaintro.entity.Team;
+import me.iiaii.springdatajpaintro.sql.SqlBudget;
+import me.iiaii.springdatajpaintro.sql.SqlBudgetExtension;
+import me.iiaii.springdatajpaintro.sql.SqlStatementScope;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.*;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
@@ -16,6 +23,10 @@ import javax.persistence.PersistenceContext;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,6 +34,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SpringBootTest
 @Transactional
 @Rollback(false)
+@ExtendWith(SqlBudgetExtension.class)
 public class MemberRepositoryTest {
 
     @Autowired
@@ -174,6 +186,60 @@ public class MemberRepositoryTest {
         assertThat(names.get(1).getUsername()).isEqualTo("BBB");
     }
 
+    @Test
+    @DisplayName("findByNames 1 / 1k / 10k")
+    @Rollback
+    public void findByNamesLargeList(SqlStatementScope sql) throws Exception {
+        // given
+        // 1만 개 중 DB 에 있는 이름은 1000 개 (임시 테이블 경로는 이름 개수로만 결정됨)
+        int rows = 1000;
+        memberRepository.saveAllBatched(IntStream.range(0, rows)
+                .mapToObj(i -> new Member("inName" + i, i % 100)), 1000);
+        List<String> names = IntStream.range(0, 10_000)
+                .mapToObj(i -> "inName" + i)
+                .collect(Collectors.toList());
+        sql.reset();
+
+        // when
+        List<Member> one = memberRepository.findByNames(names.subList(0, 1));
+        int oneStatements = sql.getStatementCount();
+        List<Member> thousand = memberRepository.findByNames(names.subList(0, 1000));
+        int thousandStatements = sql.getStatementCount() - oneStatements;
+        sql.reset();
+        List<Member> all = memberRepository.findByNames(names);
+
+        // then
+        assertThat(one).extracting("username").containsExactly("inName0");
+        assertThat(oneStatements).isEqualTo(1);
+        // 512 + 488 두 번으로 나눠서 조회
+        assertThat(thousand).hasSize(1000);
+        assertThat(thousandStatements).isEqualTo(2);
+        // 1만 개는 IN 절 대신 임시 테이블 조인: create + delete + insert batch 20번 (512 * 19 + 272) + 조인 1번
+        assertThat(all).hasSize(rows);
+        assertThat(all).extracting("username").doesNotHaveDuplicates();
+        assertThat(sql.getStatementCount()).isEqualTo(1 + 1 + 20 + 1);
+        assertThat(sql.getRepeatedStatements(1).keySet())
+                .anyMatch(s -> s.startsWith("insert into member_name_filter"))
+                .anyMatch(s -> s.contains("join member_name_filter"))
+                .noneMatch(s -> s.contains(" in ("));
+    }
+
+    @Test
+    @DisplayName("findByNames IN 절 파라미터 padding")
+    public void findByNamesPadding(SqlStatementScope sql) throws Exception {
+        // given
+        sql.reset();
+
+        // when
+        // 300 개, 400 개 모두 512 개 파라미터로 채워짐
+        memberRepository.findByNames(IntStream.range(0, 300).mapToObj(i -> "padding" + i).collect(Collectors.toList()));
+        memberRepository.findByNames(IntStream.range(0, 400).mapToObj(i -> "padding" + i).collect(Collectors.toList()));
+
+        // then
+        assertThat(sql.getStatementCount()).isEqualTo(2);
+        assertThat(sql.getRepeatedStatements(2)).hasSize(1);
+    }
+
     @Test
     @DisplayName("returnType")
     public void returnType() throws Exception {
@@ -224,17 +290,74 @@ public class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue();
     }
 
+    @Test
+    @DisplayName("lazyCountPaging")
+    @Rollback
+    public void lazyCountPaging(SqlStatementScope sql) throws Exception {
+        // given
+        // 다른 테스트가 커밋한 회원과 겹치지 않는 나이
+        int age = 3_000;
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("lazyCount" + i, age));
+        }
+        em.flush();
+        sql.reset();
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // when
+        Page<Member> page = memberRepository.findByAge(age, pageRequest, CountMode.LAZY);
+
+        // then
+        // 컨텐츠 쿼리만 실행, count 쿼리 실행 X
+        assertThat(sql.getStatementCount()).isEqualTo(1);
+        assertThat(page.getContent()).extracting("username").containsExactly("lazyCount5", "lazyCount4", "lazyCount3");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(sql.getStatementCount()).isEqualTo(1);
+        // getTotalElements() 를 처음 호출할 때 count 쿼리 한 번, 이후에는 재사용
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(sql.getStatementCount()).isEqualTo(2);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(sql.getStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("memberDtoPaging")
+    public void memberDtoPaging() throws Exception {
+        // given
+        Team team = new Team("dtoPagingTeam");
+        em.persist(team);
+        memberRepository.save(new Member("dtoPaging1", 10, team));
+        memberRepository.save(new Member("dtoPaging2", 10, team));
+        memberRepository.save(new Member("dtoPaging3", 10));
+        em.flush();
+        em.clear();
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id"));
+
+        // when
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(pageRequest, CountMode.EXACT);
+
+        // then
+        assertThat(page.getContent()).extracting("username").containsExactly("dtoPaging3", "dtoPaging2", "dtoPaging1");
+        assertThat(page.getContent()).extracting("teamName").containsExactly(null, "dtoPagingTeam", "dtoPagingTeam");
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(3);
+        // 영속성 컨텍스트에 엔티티가 올라가지 않는다
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
     @Test
     @DisplayName("Slice")
+    @Rollback
     public void Slice() throws Exception {
         // given
-        memberRepository.save(new Member("member1", 10));
-        memberRepository.save(new Member("member2", 10));
-        memberRepository.save(new Member("member1", 20));
-        memberRepository.save(new Member("member4", 10));
-        memberRepository.save(new Member("member1", 40));
+        memberRepository.save(new Member("slice1", 10));
+        memberRepository.save(new Member("slice2", 10));
+        memberRepository.save(new Member("slice1", 20));
+        memberRepository.save(new Member("slice4", 10));
+        memberRepository.save(new Member("slice1", 40));
 
-        String name = "member1";
+        String name = "slice1";
         PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "age"));
 
         // when
@@ -244,11 +367,38 @@ public class MemberRepositoryTest {
         List<Member> members = page.getContent();
 
         assertThat(members.size()).isEqualTo(3);
+        assertThat(members).extracting("username").containsOnly(name);
+        assertThat(members).extracting("age").containsExactly(40, 20, 10);
         assertThat(page.getNumber()).isEqualTo(0);
         assertThat(page.isFirst()).isTrue();
         assertThat(page.hasNext()).isFalse();
     }
 
+    @Test
+    @DisplayName("keyset")
+    @Rollback
+    public void keyset() throws Exception {
+        // given
+        // 다른 테스트가 커밋한 회원과 겹치지 않는 나이
+        int age = 4_000;
+        memberRepository.save(new Member("keyset1", age));
+        memberRepository.save(new Member("keyset2", age));
+        memberRepository.save(new Member("keyset2", age));
+        memberRepository.save(new Member("keyset4", age));
+        memberRepository.save(new Member("keyset5", age));
+
+        // when
+        KeysetWindow<Member> first = memberRepository.findByAge(age, null, 3);
+        KeysetWindow<Member> second = memberRepository.findByAge(age, KeysetCursor.decode(first.getNextCursor()), 3);
+
+        // then
+        assertThat(first.getContent()).extracting("username").containsExactly("keyset5", "keyset4", "keyset2");
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).extracting("username").containsExactly("keyset2", "keyset1");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
     @Test
     @DisplayName("bulkUpdate")
     public void bulkUpdate() throws Exception {
@@ -272,6 +422,86 @@ public class MemberRepositoryTest {
         assertThat(resultCount).isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("bulkUpdateChunked")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 청크마다 커밋되므로 테스트 트랜잭션 밖에서
+    public void bulkUpdateChunked() throws Exception {
+        // given
+        // 다른 테스트의 회원과 겹치지 않는 나이
+        int age = 10_000;
+        int chunkSize = 2;
+        List<Long> ids = memberRepository.saveAll(IntStream.range(0, 5)
+                        .mapToObj(i -> new Member("chunked" + i, age))
+                        .collect(Collectors.toList()))
+                .stream()
+                .map(Member::getId)
+                .sorted()
+                .collect(Collectors.toList());
+        memberRepository.save(new Member("chunkedYoung", age - 1));
+
+        // 시퀀스 값이 연속이 아닐 수도 있으므로 [minId + k * chunkSize, minId + (k + 1) * chunkSize) 구간별로 기대값 계산
+        long minId = ids.get(0);
+        long maxId = ids.get(ids.size() - 1);
+        List<Integer> expected = LongStream.rangeClosed(0, (maxId - minId) / chunkSize)
+                .mapToObj(k -> (int) ids.stream()
+                        .filter(id -> id >= minId + k * chunkSize && id < minId + (k + 1) * chunkSize)
+                        .count())
+                .collect(Collectors.toList());
+
+        // when
+        BulkUpdateResult result = memberRepository.bulkAgePlus(age, chunkSize);
+
+        // then
+        assertThat(result.getChunkCounts()).containsExactlyElementsOf(expected);
+        assertThat(result.getTotalCount()).isEqualTo(5);
+        assertThat(memberRepository.findAllById(ids)).extracting("age").containsOnly(age + 1);
+        assertThat(memberRepository.findByUsername("chunkedYoung")).extracting("age").containsExactly(age - 1);
+    }
+
+    @Test
+    @DisplayName("bulkUpdateChunked chunkSize <= 0")
+    public void bulkUpdateChunkedInvalidChunkSize() throws Exception {
+        assertThatThrownBy(() -> memberRepository.bulkAgePlus(0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> memberRepository.bulkAgePlus(0, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("saveAllBatched batchSize <= 0")
+    public void saveAllBatchedInvalidBatchSize() throws Exception {
+        assertThatThrownBy(() -> memberRepository.saveAllBatched(Stream.of(new Member("invalidBatch", 10)), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> memberRepository.saveAllBatched(Stream.of(new Member("invalidBatch", 10)), -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("bulkUpdateChunked 트랜잭션 안에서 호출")
+    public void bulkUpdateChunkedInsideTransaction() throws Exception {
+        // 청크 트랜잭션이 바깥 트랜잭션의 락을 기다리지 않도록 바로 거부
+        assertThatThrownBy(() -> memberRepository.bulkAgePlus(10_000, 2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("queryCacheAfterBulkUpdate")
+    public void queryCacheAfterBulkUpdate() throws Exception {
+        // given
+        memberRepository.save(new Member("cachedMember", 20));
+        em.flush();
+        em.clear();
+        memberRepository.findByUsername("cachedMember"); // 쿼리 캐시에 저장
+
+        // when
+        memberRepository.bulkAgePlus(20); // Member 쿼리 캐시, 엔티티 캐시 무효화
+        em.clear();
+        List<Member> result = memberRepository.findByUsername("cachedMember");
+
+        // then
+        assertThat(result.get(0).getAge()).isEqualTo(21);
+    }
+
     @Test
     @DisplayName("findMemberLazy")
     public void findMemberLazy() throws Exception {
@@ -298,6 +528,111 @@ public class MemberRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("detectRepeatedStatements")
+    public void detectRepeatedStatements(SqlStatementScope sql) throws Exception {
+        // given
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("member" + i, i));
+        }
+        em.flush();
+        em.clear();
+        sql.reset();
+
+        // when
+        // 같은 쿼리를 파라미터만 바꿔서 반복 실행 (N+1 패턴)
+        for (int i = 0; i < 5; i++) {
+            memberRepository.findUser("member" + i, i);
+        }
+
+        // then
+        assertThat(sql.getStatementCount()).isEqualTo(5);
+        assertThat(sql.getRepeatedStatements(5)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("fetchJoinWithinBudget")
+    @SqlBudget(maxStatements = 1)
+    public void fetchJoinWithinBudget(SqlStatementScope sql) throws Exception {
+        // given
+        Team team = new Team("budgetTeam");
+        em.persist(team);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("budget" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+        sql.reset();
+
+        // when
+        // 페치 조인이므로 team 이름을 조회해도 추가 쿼리 없음 (예산 1건 초과 시 테스트 실패)
+        // 다른 테스트가 커밋한 팀 없는 회원도 조회되므로 이 테스트의 팀 회원만 확인
+        List<Member> members = memberRepository.findMemberFetchJoin().stream()
+                .filter(m -> m.getTeam() != null && team.getId().equals(m.getTeam().getId()))
+                .collect(Collectors.toList());
+
+        // then
+        assertThat(members).extracting(m -> m.getTeam().getName()).containsOnly("budgetTeam").hasSize(5);
+        assertThat(sql.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("batchFetch")
+    @SqlBudget(maxStatements = 2)
+    public void batchFetch(SqlStatementScope sql) throws Exception {
+        // given
+        // 팀 100개, 팀마다 회원 2명
+        for (int i = 0; i < 100; i++) {
+            Team team = new Team("batchFetchTeam" + i);
+            em.persist(team);
+            em.persist(new Member("member" + i, i, team));
+            em.persist(new Member("member" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+        List<Long> teamIds = em.createQuery("select t.id from Team t where t.name like 'batchFetchTeam%'", Long.class)
+                .getResultList();
+        em.clear();
+        sql.reset();
+
+        // when
+        // 팀 조회 1번 + 100개 팀의 members 초기화 IN 쿼리 1번 (@BatchSize 가 없으면 100번)
+        List<Team> teams = teamRepository.findAllById(teamIds);
+        int memberCount = teams.stream()
+                .mapToInt(t -> t.getMembers().size())
+                .sum();
+
+        // then
+        assertThat(memberCount).isEqualTo(200);
+        assertThat(sql.getStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("batchFetchManyToOne")
+    @SqlBudget(maxStatements = 2)
+    public void batchFetchManyToOne(SqlStatementScope sql) throws Exception {
+        // given
+        for (int i = 0; i < 100; i++) {
+            Team team = new Team("batchTeam" + i);
+            em.persist(team);
+            em.persist(new Member("batchMember", i, team));
+        }
+        em.flush();
+        em.clear();
+        sql.reset();
+
+        // when
+        // 회원 조회 1번 + team 프록시 100개 초기화 IN 쿼리 1번
+        List<Member> members = memberRepository.findListByUsername("batchMember");
+        List<String> teamNames = members.stream()
+                .map(m -> m.getTeam().getName())
+                .collect(Collectors.toList());
+
+        // then
+        assertThat(teamNames).hasSize(100);
+        assertThat(sql.getStatementCount()).isLessThanOrEqualTo(2);
+    }
+
     @Test
     @DisplayName("queryHint")
     public void queryHint() throws Exception {
@@ -348,6 +683,32 @@ public class MemberRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("streamAll")
+    public void streamAll() throws Exception {
+        // given
+        Team team = new Team("streamTeam");
+        em.persist(team);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("stream" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        // when
+        // 다른 테스트가 커밋한 회원(팀 없는 회원 포함)도 함께 읽히므로 이 테스트의 팀 id 로만 센다
+        long count;
+        try (Stream<Member> members = memberRepository.streamAll(3)) { // 3건마다 영속성 컨텍스트 clear
+            count = members
+                    .filter(m -> m.getTeam() != null && team.getId().equals(m.getTeam().getId()))
+                    .count();
+        }
+
+        // then
+        assertThat(count).isEqualTo(10);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isLessThanOrEqualTo(3 + 1); // member 3 + team 1
+    }
+
     @Test
     @DisplayName("queryByExample")
     public void queryByExample() throws Exception {
@@ -489,15 +850,73 @@ public class MemberRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("dynamicProjectionPlanCache")
+    public void dynamicProjectionPlanCache(SqlStatementScope sql) throws Exception {
+        // given
+        Team team = new Team("planCacheTeam");
+        em.persist(team);
+        em.persist(new Member("planCache", 0, team));
+        em.flush();
+        em.clear();
+        sql.reset();
+
+        // when
+        List<UsernameOnly> interfaces = memberRepository.findDynamicProjectionsByUsername("planCache", UsernameOnly.class);
+        List<UsernameOnlyDto> classes = memberRepository.findDynamicProjectionsByUsername("planCache", UsernameOnlyDto.class);
+        List<NestedClosedProjections> nested = memberRepository.findDynamicProjectionsByUsername("planCache", NestedClosedProjections.class);
+        List<Member> entities = memberRepository.findDynamicProjectionsByUsername("planCache", Member.class);
+
+        // then
+        assertThat(interfaces).extracting("username").containsExactly("planCache");
+        assertThat(classes).extracting("username").containsExactly("planCache");
+        assertThat(nested.get(0).getTeam().getName()).isEqualTo("planCacheTeam");
+        assertThat(entities).extracting("username").containsExactly("planCache");
+        assertThat(sql.getStatementCount()).isEqualTo(4);
+        // 타입별 계획은 한 번만 만들어진다
+        assertThat(DynamicProjectionPlan.of(UsernameOnly.class)).isSameAs(DynamicProjectionPlan.of(UsernameOnly.class));
+        assertThat(DynamicProjectionPlan.of(UsernameOnlyDto.class).getJpql())
+                .isEqualTo("select new me.iiaii.springdatajpaintro.repository.UsernameOnlyDto(m.username) from Member m where m.username = :username");
+    }
+
+    @Test
+    @DisplayName("nestedProjectionFlatSelect")
+    public void nestedProjectionFlatSelect(SqlStatementScope sql) throws Exception {
+        // given
+        Team team = new Team("flatTeam");
+        em.persist(team);
+        Team unnamedTeam = new Team(null);
+        em.persist(unnamedTeam);
+        em.persist(new Member("flat", 10, team));
+        em.persist(new Member("flat", 20));
+        em.persist(new Member("flat", 30, unnamedTeam));
+        em.flush();
+        em.clear();
+        sql.reset();
+
+        // when
+        List<NestedClosedProjections> result = memberRepository.findDynamicProjectionsByUsername("flat", NestedClosedProjections.class);
+
+        // then
+        // team 엔티티 전체 대신 team.id, team.name 컬럼만 조회
+        assertThat(DynamicProjectionPlan.of(NestedClosedProjections.class).getJpql())
+                .isEqualTo("select j0.id, j0.name, m.username from Member m left join m.team j0 where m.username = :username");
+        assertThat(sql.getStatementCount()).isEqualTo(1);
+        // 팀이 없는 회원만 getTeam() 이 null, 이름이 null 인 팀은 TeamInfo 의 name 이 null
+        assertThat(result).extracting(p -> p.getTeam() == null ? "no team" : p.getTeam().getName())
+                .containsExactlyInAnyOrder("flatTeam", "no team", null);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
     @Test
     @DisplayName("nativeQuery")
     public void nativeQuery() throws Exception {
         // given
-        Team team = new Team("teamA");
+        Team team = new Team("nativeTeam");
         em.persist(team);
 
-        Member m1 = new Member("m1", 0, team);
-        Member m2 = new Member("m2", 0, team);
+        Member m1 = new Member("native1", 0, team);
+        Member m2 = new Member("native2", 0);
         em.persist(m1);
         em.persist(m2);
 
@@ -505,14 +924,50 @@ public class MemberRepositoryTest {
         em.clear();
 
         // when
-        Page<MemberProjection> result = memberRepository.findByNativeProjection(PageRequest.of(0, 10));
-        List<MemberProjection> content = result.getContent();
-        for (MemberProjection memberProjection : content) {
-            System.out.println("memberProjection.getUsername() = " + memberProjection.getUsername());
-            System.out.println("memberProjection.getTeamname() = " + memberProjection.getTeamname());
-        }
+        Page<MemberProjection> result = memberRepository.findByNativeProjection(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id")));
 
         // then
+        assertThat(result.getContent()).extracting("username").containsExactly("native2", "native1");
+        assertThat(result.getContent()).extracting("teamName").containsExactly(null, "nativeTeam");
+        assertThat(result.getTotalElements()).isEqualTo(memberRepository.count()); // 조인으로 행이 늘어나지 않음
+    }
+
+    // 10만 건 적재가 필요해서 ./gradlew benchmarkTest 로만 실행
+    @Test
+    @Tag("benchmark")
+    @DisplayName("nativeProjectionPaging 100k")
+    @Rollback
+    public void nativeProjectionPaging(SqlStatementScope sql) throws Exception {
+        // given
+        int rows = 100_000;
+        long before = memberRepository.count();
+        Team team = teamRepository.save(new Team("nativePagingTeam"));
+        memberRepository.saveAllBatched(IntStream.range(0, rows)
+                .mapToObj(i -> new Member("nativePaging" + i, i % 100, i % 2 == 0 ? team : null)), 1000);
+        em.clear();
+        sql.reset();
 
+        // when
+        Page<MemberProjection> first = memberRepository.findByNativeProjection(
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id")));
+        Page<MemberProjection> deep = memberRepository.findByNativeProjection(
+                PageRequest.of(2_500, 20, Sort.by(Sort.Direction.DESC, "id")));
+
+        // then
+        // 최근에 넣은 id 순서대로, 짝수 번째만 팀이 있음
+        assertThat(first.getContent()).extracting("username")
+                .containsExactlyElementsOf(IntStream.range(0, 20)
+                        .mapToObj(i -> "nativePaging" + (rows - 1 - i))
+                        .collect(Collectors.toList()));
+        assertThat(first.getContent().get(0).getTeamName()).isNull();
+        assertThat(first.getContent().get(1).getTeamName()).isEqualTo("nativePagingTeam");
+        assertThat(deep.getContent()).hasSize(20);
+        assertThat(deep.getContent().get(0).getId()).isLessThan(first.getContent().get(19).getId());
+        assertThat(first.getTotalElements()).isEqualTo(before + rows);
+        assertThat(deep.getTotalElements()).isEqualTo(before + rows);
+        assertThat(first.getContent()).allMatch(row -> row instanceof MemberProjectionRow);
+        // 페이지마다 컨텐츠 + count 1번씩
+        assertThat(sql.getStatementCount()).isEqualTo(4);
     }
 }
@@ -0,0 +1,155 @@
+package me.iiaii.springdatajpaintro.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * application-routing.yml (같은 H2 mem DB 에 primary / replica 풀을 따로 붙임)
+ * 트랜잭션 안에서 어느 풀의 커넥션이 사용 중인지로 라우팅을 확인
+ */
+@SpringBootTest
+@ActiveProfiles("routing")
+class RoutingDataSourceTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ReplicaDataSources replicaDataSources;
+
+    @Autowired
+    ReplicaHealthChecker replicaHealthChecker;
+
+    @AfterEach
+    void restoreReplicas() {
+        replicaHealthChecker.check();
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 replica")
+    public void readOnlyToReplica() throws Exception {
+        // given
+        memberRepository.save(new Member("routingRead", 10));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when
+        readOnly.executeWithoutResult(status -> {
+            List<Member> result = memberRepository.findByUsername("routingRead");
+
+            // then
+            assertThat(result).hasSize(1);
+            assertThat(activeReplicaConnections()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("쓰기 트랜잭션은 primary")
+    public void writeToPrimary() throws Exception {
+        // given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // when
+        tx.executeWithoutResult(status -> {
+            memberRepository.save(new Member("routingWrite", 10));
+            memberRepository.flush();
+
+            // then
+            assertThat(activeReplicaConnections()).isZero();
+            assertThat(active(replicaDataSources.getPrimary())).isGreaterThanOrEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("replica 가 모두 빠지면 primary 에서 읽음")
+    public void fallbackToPrimary() throws Exception {
+        // given
+        memberRepository.save(new Member("routingFallback", 10));
+        replicaDataSources.getReplicas().keySet()
+                .forEach(name -> replicaHealthChecker.markDown(name, new IllegalStateException("test")));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when
+        readOnly.executeWithoutResult(status -> {
+            List<Member> result = memberRepository.findByUsername("routingFallback");
+
+            // then
+            assertThat(result).hasSize(1);
+            assertThat(activeReplicaConnections()).isZero();
+        });
+        assertThat(replicaHealthChecker.health().getDetails()).containsEntry("readsFallbackToPrimary", true);
+    }
+
+    @Test
+    @DisplayName("동시에 markDown 해도 제거가 유실되지 않음")
+    public void concurrentMarkDown() throws Exception {
+        // given
+        List<String> replicas = new ArrayList<>(replicaDataSources.getReplicas().keySet());
+        ExecutorService executor = Executors.newFixedThreadPool(replicas.size());
+
+        try {
+            for (int round = 0; round < 200; round++) {
+                replicaHealthChecker.check();
+                CountDownLatch start = new CountDownLatch(1);
+
+                // when
+                List<Future<?>> futures = replicas.stream()
+                        .map(name -> executor.submit(() -> {
+                            start.await();
+                            replicaHealthChecker.markDown(name, new IllegalStateException("test"));
+                            return null;
+                        }))
+                        .collect(Collectors.toList());
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+                // then
+                assertThat(replicaHealthChecker.healthyReplicas()).isEmpty();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int activeReplicaConnections() {
+        int active = 0;
+        for (Map.Entry<String, DataSource> replica : replicaDataSources.getReplicas().entrySet()) {
+            active += active(replica.getValue());
+        }
+        return active;
+    }
+
+    // 아직 한 번도 커넥션을 가져오지 않은 풀은 MXBean 이 없음
+    private int active(DataSource dataSource) {
+        HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+}
@@ -0,0 +1,90 @@
+package me.iiaii.springdatajpaintro.service;
+
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import me.iiaii.springdatajpaintro.sql.SqlBudgetExtension;
+import me.iiaii.springdatajpaintro.sql.SqlStatementScope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "member.async.limits.limited=1")
+@ExtendWith(SqlBudgetExtension.class)
+class AsyncQueryExecutorTest {
+
+    @Autowired
+    AsyncQueryExecutor asyncQueryExecutor;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("별도 스레드의 readOnly 트랜잭션에서 실행")
+    public void runsInReadOnlyTransaction() throws Exception {
+        // when
+        CompletableFuture<Boolean> readOnly = asyncQueryExecutor.submit("readOnly",
+                TransactionSynchronizationManager::isCurrentTransactionReadOnly);
+
+        // then
+        assertThat(readOnly.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("실행기 스레드의 SQL 도 호출한 스레드의 scope 에 집계")
+    public void propagatesSqlScope(SqlStatementScope sql) throws Exception {
+        // given
+        sql.reset();
+
+        // when
+        asyncQueryExecutor.submit("count", memberRepository::count).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(sql.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("동시 실행 한도를 넘으면 503")
+    public void rejectOverLimit() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = asyncQueryExecutor.submit("limited", () -> {
+            await(release);
+            return "done";
+        });
+
+        // when
+        CompletableFuture<String> rejected = asyncQueryExecutor.submit("limited", () -> "never");
+
+        // then
+        assertThatThrownBy(rejected::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e.getCause()).getStatus())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        // 앞 요청이 끝나면 다시 받는다
+        assertThat(asyncQueryExecutor.submit("limited", () -> "again").get(5, TimeUnit.SECONDS)).isEqualTo("again");
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package me.iiaii.springdatajpaintro.service;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재시도마다 새 트랜잭션이 필요하므로 테스트 자체는 트랜잭션 없이 실행
+ */
+@SpringBootTest(properties = {
+        "retry.optimistic.max-attempts=3",
+        "retry.optimistic.initial-backoff=1ms"
+})
+class OptimisticRetryExecutorTest {
+
+    @Autowired
+    OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("version 충돌 시 재시도")
+    public void retryOnConflict() throws Exception {
+        // given
+        Long id = memberRepository.save(new Member("optimisticRetry", 10)).getId();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        retryExecutor.run(() -> {
+            Member member = memberRepository.findById(id).get();
+            if (attempts.incrementAndGet() == 1) {
+                concurrentAgePlus(id); // 첫 시도 중에 다른 트랜잭션이 먼저 커밋
+            }
+            member.setAge(member.getAge() + 1);
+        });
+
+        // then
+        Member result = memberRepository.findById(id).get();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(result.getAge()).isEqualTo(12);
+        assertThat(result.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 넘으면 예외")
+    public void giveUpAfterMaxAttempts() throws Exception {
+        // given
+        Long id = memberRepository.save(new Member("optimisticGiveUp", 10)).getId();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when & then
+        assertThatThrownBy(() -> retryExecutor.run(() -> {
+            Member member = memberRepository.findById(id).get();
+            attempts.incrementAndGet();
+            concurrentAgePlus(id);
+            member.setAge(member.getAge() + 1);
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    private void concurrentAgePlus(Long id) {
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        other.executeWithoutResult(status -> {
+            Member member = memberRepository.findById(id).get();
+            member.setAge(member.getAge() + 1);
+        });
+    }
+}
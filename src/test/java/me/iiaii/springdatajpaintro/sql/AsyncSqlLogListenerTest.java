@@ -0,0 +1,43 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import me.iiaii.springdatajpaintro.entity.Member;
+import me.iiaii.springdatajpaintro.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"sql.log.enabled=true", "sql.log.sample-rate=1", "sql.log.slow-threshold=0"})
+class AsyncSqlLogListenerTest {
+
+    @Autowired
+    AsyncSqlLogListener listener;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("표본으로 뽑힌 SQL 은 로그 스레드가 비동기로 기록")
+    public void writesSampledStatements() throws Exception {
+        // given
+        long sampledBefore = listener.getSampled();
+        memberRepository.save(new Member("asyncSqlLog", 10));
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            memberRepository.findByUsernameAndAgeGreaterThan("asyncSqlLog", i);
+        }
+
+        // then
+        // sample-rate=1 이므로 모두 표본 (insert 1 + select 10)
+        assertThat(listener.getSampled() - sampledBefore).isGreaterThanOrEqualTo(11);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (listener.getWritten() + listener.getDropped() < listener.getSampled()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(listener.getWritten() + listener.getDropped()).isEqualTo(listener.getSampled());
+    }
+}
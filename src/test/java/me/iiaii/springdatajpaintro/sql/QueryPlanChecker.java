@@ -0,0 +1,102 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 실행된 SELECT 를 (p6spy 가 바인딩 값을 채운 문장으로) 모아서 H2 EXPLAIN 으로 실행 계획을 확인한다
+ * H2 는 인덱스 없이 테이블 전체를 읽으면 계획에 PUBLIC.MEMBER.tableScan 처럼 표시
+ * 테스트 설정에서 빈으로 등록 (p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동 등록)
+ */
+public class QueryPlanChecker extends JdbcEventListener {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\*\\s*PUBLIC\\.(\\w+)\\.tableScan\\s*\\*/");
+
+    private final DataSource dataSource;
+    private final List<String> captured = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean capturing;
+
+    public QueryPlanChecker(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void onBeforeAnyExecute(StatementInformation statementInformation) {
+        if (capturing) {
+            captured.add(statementInformation.getSqlWithValues());
+        }
+    }
+
+    /**
+     * @return action 실행 중에 실행된 SELECT
+     */
+    public List<String> capture(Runnable action) {
+        captured.clear();
+        capturing = true;
+        try {
+            action.run();
+        } finally {
+            capturing = false;
+        }
+        List<String> selects = new ArrayList<>();
+        synchronized (captured) {
+            for (String sql : captured) {
+                if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                    selects.add(sql);
+                }
+            }
+        }
+        return selects;
+    }
+
+    /**
+     * @return 테이블 전체를 읽는 SQL -> 실행 계획 (인덱스만 사용하면 비어 있음)
+     */
+    public Map<String, String> tableScans(List<String> statements) {
+        Map<String, String> scans = new LinkedHashMap<>();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            if (!scannedTables(plan).isEmpty()) {
+                scans.put(sql, plan);
+            }
+        }
+        return scans;
+    }
+
+    public String explain(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("explain " + sql)) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            throw new IllegalStateException("cannot explain: " + sql, e);
+        }
+    }
+
+    public static List<String> scannedTables(String plan) {
+        List<String> tables = new ArrayList<>();
+        Matcher matcher = TABLE_SCAN.matcher(plan);
+        while (matcher.find()) {
+            tables.add(matcher.group(1));
+        }
+        return tables;
+    }
+}
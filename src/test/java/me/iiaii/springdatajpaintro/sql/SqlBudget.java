@@ -0,0 +1,21 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 메소드(또는 클래스) 하나에서 허용하는 SQL 예산
+ * 없으면 집계만 하고 실패시키지 않는다
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    // 허용 SQL 수 (0 이하면 제한 없음)
+    int maxStatements() default 0;
+
+    // 같은 SQL 이 바인딩 값만 바뀌어 이 횟수 이상 실행되면 실패 (0 이하면 검사 안 함)
+    int repeatedStatementThreshold() default 5;
+}
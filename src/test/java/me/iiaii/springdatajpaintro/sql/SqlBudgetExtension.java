@@ -0,0 +1,58 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.List;
+
+/**
+ * 테스트 메소드 단위로 SQL 을 집계하고, @SqlBudget 을 넘기면 테스트를 실패시킨다
+ * 테스트 메소드 파라미터로 SqlStatementScope 를 받아서 직접 검증할 수도 있다
+ */
+public class SqlBudgetExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SqlBudget budget = findBudget(context);
+        SqlStatementScope scope = SqlStatementTracker.open(context.getDisplayName(),
+                budget == null ? 0 : budget.maxStatements(),
+                budget == null ? 0 : budget.repeatedStatementThreshold());
+        context.getStore(NAMESPACE).put(SqlStatementScope.class, scope);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlStatementScope scope = context.getStore(NAMESPACE).remove(SqlStatementScope.class, SqlStatementScope.class);
+        if (scope == null) {
+            return;
+        }
+        SqlStatementTracker.close(scope);
+
+        List<String> violations = scope.getViolations();
+        if (!violations.isEmpty()) {
+            throw new AssertionError(String.join("\n", violations));
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlStatementScope.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(SqlStatementScope.class, SqlStatementScope.class);
+    }
+
+    private SqlBudget findBudget(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getElement(), SqlBudget.class)
+                .orElseGet(() -> AnnotationSupport.findAnnotation(context.getTestClass(), SqlBudget.class)
+                        .orElse(null));
+    }
+}
@@ -0,0 +1,74 @@
+package me.iiaii.springdatajpaintro.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlLogRingBufferTest {
+
+    @Test
+    @DisplayName("가득 차면 기다리지 않고 offer 실패")
+    public void offerWhenFull() throws Exception {
+        // given
+        SqlLogRingBuffer<Integer> buffer = new SqlLogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        // when
+        boolean offered = buffer.offer(4);
+        List<Integer> drained = new ArrayList<>();
+        buffer.drain(drained::add, 2);
+
+        // then
+        assertThat(offered).isFalse();
+        assertThat(drained).containsExactly(0, 1);
+        // 꺼낸 만큼 다시 넣을 수 있음
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("여러 생산자 / 한 소비자: 넣은 것 = 꺼낸 것 + 버린 것")
+    public void concurrentProducers() throws Exception {
+        // given
+        SqlLogRingBuffer<Integer> buffer = new SqlLogRingBuffer<>(64);
+        int producers = 8;
+        int perProducer = 10_000;
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        // when
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (!buffer.offer(i)) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        while (done.getCount() > 0) {
+            buffer.drain(e -> consumed.incrementAndGet(), 16);
+        }
+        buffer.drain(e -> consumed.incrementAndGet(), Integer.MAX_VALUE);
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(consumed.get() + rejected.get()).isEqualTo(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+}